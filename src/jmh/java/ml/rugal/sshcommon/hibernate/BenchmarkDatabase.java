@@ -0,0 +1,83 @@
+package ml.rugal.sshcommon.hibernate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.Configuration;
+
+/**
+ * Embedded H2 database for benchmarks.
+ *
+ * @author Rugal Bernstein
+ */
+public final class BenchmarkDatabase {
+
+    public static final int BATCH_SIZE = 50;
+
+    private BenchmarkDatabase() {
+    }
+
+    /**
+     * Create session factory of a new in-memory database, with seeded records.
+     *
+     * @param name name of database
+     * @param rows number of records to seed
+     *
+     * @return session factory of database.
+     */
+    public static SessionFactory create(String name, int rows) {
+        SessionFactory sessionFactory = new Configuration()
+            .addAnnotatedClass(BenchmarkEntity.class)
+            .setProperty("hibernate.connection.driver_class", "org.h2.Driver")
+            .setProperty("hibernate.connection.url", "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1")
+            .setProperty("hibernate.dialect", "org.hibernate.dialect.H2Dialect")
+            .setProperty("hibernate.hbm2ddl.auto", "create-drop")
+            .setProperty("hibernate.current_session_context_class", "thread")
+            .setProperty("hibernate.jdbc.batch_size", String.valueOf(BATCH_SIZE))
+            .setProperty("hibernate.order_inserts", "true")
+            .buildSessionFactory();
+        BenchmarkEntityDao dao = new BenchmarkEntityDao();
+        dao.setSessionFactory(sessionFactory);
+        inTransaction(sessionFactory, () -> dao.saveAll(entities(rows), BATCH_SIZE));
+        return sessionFactory;
+    }
+
+    /**
+     * Create transient entities.
+     *
+     * @param rows number of entities
+     *
+     * @return list of entities.
+     */
+    public static List<BenchmarkEntity> entities(int rows) {
+        List<BenchmarkEntity> entities = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            entities.add(new BenchmarkEntity("entity-" + i, i % 100));
+        }
+        return entities;
+    }
+
+    /**
+     * Do work in a transaction of current session.
+     *
+     * @param <R>            type of result
+     * @param sessionFactory session factory
+     * @param work           work to do
+     *
+     * @return result of work.
+     */
+    public static <R> R inTransaction(SessionFactory sessionFactory, Supplier<R> work) {
+        Transaction transaction = sessionFactory.getCurrentSession().beginTransaction();
+        try {
+            R result = work.get();
+            transaction.commit();
+            return result;
+        } catch (RuntimeException e) {
+            transaction.rollback();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package ml.rugal.sshcommon.hibernate;
+
+import java.util.Date;
+
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+
+/**
+ * Entity for benchmarking DAO against embedded database.
+ *
+ * @author Rugal Bernstein
+ */
+@Entity
+@Table(name = "benchmark_entity")
+public class BenchmarkEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    private Long id;
+
+    private String name;
+
+    private int amount;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date createdAt;
+
+    public BenchmarkEntity() {
+    }
+
+    public BenchmarkEntity(String name, int amount) {
+        this.name = name;
+        this.amount = amount;
+        this.createdAt = new Date();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getAmount() {
+        return amount;
+    }
+
+    public void setAmount(int amount) {
+        this.amount = amount;
+    }
+
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Date createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,35 @@
+package ml.rugal.sshcommon.hibernate;
+
+import ml.rugal.sshcommon.page.CursorPagination;
+import ml.rugal.sshcommon.page.Pagination;
+import ml.rugal.sshcommon.page.SimplePage.CountMode;
+import org.hibernate.Query;
+
+/**
+ * DAO that exposes protected query methods to benchmarks.
+ *
+ * @author Rugal Bernstein
+ */
+public class BenchmarkEntityDao extends HibernateBaseDao<BenchmarkEntity, Long> {
+
+    @Override
+    protected Class<BenchmarkEntity> getEntityClass() {
+        return BenchmarkEntity.class;
+    }
+
+    public Pagination findPage(Finder finder, int pageNo, int pageSize) {
+        return find(finder, pageNo, pageSize);
+    }
+
+    public Pagination findPage(Finder finder, int pageNo, int pageSize, CountMode countMode) {
+        return find(finder, pageNo, pageSize, countMode);
+    }
+
+    public CursorPagination findPage(Finder finder, String after, int pageSize) {
+        return find(finder, after, pageSize);
+    }
+
+    public Query bindParameters(Finder finder) {
+        return finder.setParamsToQuery(getSession().createQuery(finder.getOrigHql()));
+    }
+}
@@ -0,0 +1,57 @@
+package ml.rugal.sshcommon.hibernate;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmark of deriving HQL from finder.
+ *
+ * @author Rugal Bernstein
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FinderBenchmark {
+
+    private static final String HQL = "select distinct bean from BenchmarkEntity bean left join fetch bean.items item"
+                                      + " where bean.amount >= :amount and item.name in (:names) order by bean.id desc";
+
+    private final FinderTemplate template = FinderTemplate.compile(HQL);
+
+    /**
+     * Row count HQL derived by substring, as it was before templates.
+     */
+    @Benchmark
+    public String rowCountHqlBySubstring() {
+        String hql = Finder.create(HQL).getOrigHql();
+        int fromIndex = hql.toLowerCase().indexOf(Finder.FROM);
+        String projectionHql = hql.substring(0, fromIndex);
+        String rowCountHql = hql.substring(fromIndex).replace(Finder.HQL_FETCH, "");
+        int index = rowCountHql.indexOf(Finder.ORDER_BY);
+        if (index > 0) {
+            rowCountHql = rowCountHql.substring(0, index);
+        }
+        return projectionHql.replace("select", "select count(") + ") " + rowCountHql;
+    }
+
+    @Benchmark
+    public String rowCountHqlOfAdhocFinder() {
+        return Finder.create(HQL).getRowCountHql();
+    }
+
+    @Benchmark
+    public String rowCountHqlOfTemplate() {
+        return template.createFinder().getRowCountHql();
+    }
+
+    @Benchmark
+    public String keysetHqlOfTemplate() {
+        return template.createFinder().setSortKey("bean.id").getKeysetHql(true);
+    }
+}
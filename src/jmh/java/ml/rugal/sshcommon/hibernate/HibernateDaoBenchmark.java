@@ -0,0 +1,115 @@
+package ml.rugal.sshcommon.hibernate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import ml.rugal.sshcommon.page.CursorPagination;
+import ml.rugal.sshcommon.page.Pagination;
+import ml.rugal.sshcommon.page.SimplePage.CountMode;
+import org.hibernate.Query;
+import org.hibernate.SessionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmark of paging and reading through DAO against embedded H2 database.
+ *
+ * @author Rugal Bernstein
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HibernateDaoBenchmark {
+
+    private static final int ROWS = 20000;
+
+    private static final int PAGE_SIZE = 20;
+
+    private static final int ID_COUNT = 100;
+
+    private static final String HQL = "from BenchmarkEntity bean where bean.amount >= :amount";
+
+    @Param({"1", "500"})
+    public int pageNo;
+
+    private SessionFactory sessionFactory;
+
+    private BenchmarkEntityDao dao;
+
+    private String cursor;
+
+    private List<Long> ids;
+
+    @Setup
+    public void setUp() {
+        sessionFactory = BenchmarkDatabase.create("dao", ROWS);
+        dao = new BenchmarkEntityDao();
+        dao.setSessionFactory(sessionFactory);
+        //cursor that points to the end of previous page
+        cursor = (pageNo == 1) ? null : BenchmarkDatabase.inTransaction(sessionFactory, () -> {
+            Pagination previous = dao.findPage(finder().append(" order by bean.id"), pageNo - 1, PAGE_SIZE);
+            List<?> list = previous.getList();
+            return CursorPagination.encodeCursor(((BenchmarkEntity) list.get(list.size() - 1)).getId());
+        });
+        ids = new ArrayList<>(ID_COUNT);
+        for (long id = 1; ids.size() < ID_COUNT; id += ROWS / ID_COUNT) {
+            ids.add(id);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    private Finder finder() {
+        return Finder.create(HQL).setParam("amount", 10);
+    }
+
+    @Benchmark
+    public Pagination pageWithExactCount() {
+        return BenchmarkDatabase.inTransaction(sessionFactory,
+                                               () -> dao.findPage(finder().append(" order by bean.id"), pageNo, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public Pagination pageWithoutCount() {
+        return BenchmarkDatabase.inTransaction(sessionFactory, () -> dao
+                                               .findPage(finder().append(" order by bean.id"), pageNo, PAGE_SIZE, CountMode.NONE));
+    }
+
+    @Benchmark
+    public CursorPagination pageWithCursor() {
+        return BenchmarkDatabase.inTransaction(sessionFactory,
+                                               () -> dao.findPage(finder().setSortKey("bean.id"), cursor, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public Query bindParameters() {
+        return BenchmarkDatabase.inTransaction(sessionFactory, () -> dao.bindParameters(finder()));
+    }
+
+    @Benchmark
+    public List<BenchmarkEntity> getOneByOne() {
+        return BenchmarkDatabase.inTransaction(sessionFactory, () -> {
+            List<BenchmarkEntity> result = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                result.add(dao.get(id));
+            }
+            return result;
+        });
+    }
+
+    @Benchmark
+    public List<BenchmarkEntity> getAll() {
+        return BenchmarkDatabase.inTransaction(sessionFactory, () -> dao.getAll(ids));
+    }
+}
@@ -0,0 +1,71 @@
+package ml.rugal.sshcommon.hibernate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.SessionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Throughput of saving records one by one against batched saving, in records per second.
+ *
+ * @author Rugal Bernstein
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class HibernateWriteBenchmark {
+
+    private static final int ROWS = 1000;
+
+    private SessionFactory sessionFactory;
+
+    private BenchmarkEntityDao dao;
+
+    @Setup
+    public void setUp() {
+        sessionFactory = BenchmarkDatabase.create("write", 0);
+        dao = new BenchmarkEntityDao();
+        dao.setSessionFactory(sessionFactory);
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteAll() {
+        BenchmarkDatabase.inTransaction(sessionFactory,
+                                        () -> dao.bulkUpdate(Finder.create("delete from BenchmarkEntity")));
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int saveOneByOne() {
+        List<BenchmarkEntity> entities = BenchmarkDatabase.entities(ROWS);
+        return BenchmarkDatabase.inTransaction(sessionFactory, () -> {
+            for (BenchmarkEntity entity : entities) {
+                dao.save(entity);
+            }
+            return entities.size();
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int saveAll() {
+        List<BenchmarkEntity> entities = BenchmarkDatabase.entities(ROWS);
+        return BenchmarkDatabase.inTransaction(sessionFactory,
+                                               () -> dao.saveAll(entities, BenchmarkDatabase.BATCH_SIZE));
+    }
+}
@@ -0,0 +1,141 @@
+package ml.rugal.sshcommon.springmvc.method.annotation;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import ml.rugal.sshcommon.springmvc.bind.annotation.FormModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.MethodParameter;
+import org.springframework.format.support.DefaultFormattingConversionService;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.bind.support.ConfigurableWebBindingInitializer;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.mvc.method.annotation.ServletRequestDataBinderFactory;
+
+/**
+ * Benchmark of resolving {@code @FormModel} arguments from form posts.
+ *
+ * @author Rugal Bernstein
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FormModelBenchmark {
+
+    /**
+     * Number of rows in posted grid.
+     */
+    @Param({"10", "1000"})
+    public int rows;
+
+    /**
+     * Whether elements are bound by generated binders.
+     */
+    @Param({"false", "true"})
+    public boolean generateBinders;
+
+    /**
+     * Whether data binders are initialized with formatting conversion service, as {@code @EnableWebMvc} does.
+     */
+    @Param({"false", "true"})
+    public boolean conversionService;
+
+    private final FormModelMethodArgumentResolver resolver = new FormModelMethodArgumentResolver();
+
+    private WebDataBinderFactory binderFactory;
+
+    private MethodParameter beanParameter;
+
+    private MethodParameter listParameter;
+
+    private NativeWebRequest beanRequest;
+
+    private NativeWebRequest listRequest;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        resolver.setAutoGrowCollectionLimit(rows);
+        resolver.setGenerateBinders(generateBinders);
+        ConfigurableWebBindingInitializer initializer = new ConfigurableWebBindingInitializer();
+        if (conversionService) {
+            initializer.setConversionService(new DefaultFormattingConversionService());
+        }
+        binderFactory = new ServletRequestDataBinderFactory(null, initializer);
+        beanParameter = new MethodParameter(getClass().getMethod("handleBean", Student.class), 0);
+        listParameter = new MethodParameter(getClass().getMethod("handleList", List.class), 0);
+
+        MockHttpServletRequest bean = new MockHttpServletRequest();
+        bean.setParameter("student.name", "Kate");
+        bean.setParameter("student.age", "20");
+        bean.setParameter("student.type", "bachelor");
+        bean.setParameter("other", "ignored");
+        beanRequest = new ServletWebRequest(bean);
+
+        MockHttpServletRequest list = new MockHttpServletRequest();
+        for (int i = 0; i < rows; i++) {
+            list.setParameter("students[" + i + "].name", "Kate" + i);
+            list.setParameter("students[" + i + "].age", String.valueOf(i));
+            list.setParameter("students[" + i + "].type", "bachelor");
+        }
+        listRequest = new ServletWebRequest(list);
+    }
+
+    public void handleBean(@FormModel("student") Student student) {
+    }
+
+    public void handleList(@FormModel("students") List<Student> students) {
+    }
+
+    @Benchmark
+    public Object resolveBean() throws Exception {
+        return resolver.resolveArgument(beanParameter, new ModelAndViewContainer(), beanRequest, binderFactory);
+    }
+
+    @Benchmark
+    public Object resolveList() throws Exception {
+        return resolver.resolveArgument(listParameter, new ModelAndViewContainer(), listRequest, binderFactory);
+    }
+
+    public static class Student {
+
+        private String name;
+
+        private int age;
+
+        private String type;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public void setType(String type) {
+            this.type = type;
+        }
+    }
+}
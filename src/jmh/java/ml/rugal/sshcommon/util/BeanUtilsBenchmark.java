@@ -0,0 +1,76 @@
+package ml.rugal.sshcommon.util;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmark of cached {@link BeanUtils} against the uncached implementation.
+ *
+ * @author Rugal Bernstein
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BeanUtilsBenchmark {
+
+    private final Bean bean = new Bean();
+
+    @Benchmark
+    public Object fieldValueCached() {
+        return BeanUtils.getFieldValue(bean, "name");
+    }
+
+    @Benchmark
+    public Object fieldValueLegacy() {
+        return LegacyBeanUtils.getFieldValue(bean, "name");
+    }
+
+    @Benchmark
+    public Field missingFieldCached() {
+        return BeanUtils.getDeclaredField(Bean.class, "missing");
+    }
+
+    @Benchmark
+    public Field missingFieldLegacy() {
+        return LegacyBeanUtils.getDeclaredField(Bean.class, "missing");
+    }
+
+    @Benchmark
+    public Object simplePropertyCached() throws IllegalAccessException, InvocationTargetException,
+                                                NoSuchMethodException {
+        return BeanUtils.getSimpleProperty(bean, "name");
+    }
+
+    @Benchmark
+    public Object simplePropertyLegacy() throws IllegalAccessException, InvocationTargetException,
+                                                NoSuchMethodException {
+        return LegacyBeanUtils.getSimpleProperty(bean, "name");
+    }
+
+    public static class Base {
+
+        private String name = "base";
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    public static class Middle extends Base {
+
+        private int middle;
+    }
+
+    public static class Bean extends Middle {
+
+        private int value;
+    }
+}
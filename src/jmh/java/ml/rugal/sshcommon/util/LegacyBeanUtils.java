@@ -0,0 +1,54 @@
+package ml.rugal.sshcommon.util;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.Locale;
+
+/**
+ * Uncached implementation of {@link BeanUtils} as of 0.5, kept as benchmark baseline.
+ *
+ * @author Rugal Bernstein
+ */
+final class LegacyBeanUtils {
+
+    private LegacyBeanUtils() {
+    }
+
+    static Object getFieldValue(final Object object, final String fieldName) {
+        Field field = getDeclaredField(object.getClass(), fieldName);
+        if (field == null) {
+            throw new IllegalArgumentException("Could not find field [" + fieldName + "] on target [" + object + "]");
+        }
+        makeAccessible(field);
+        try {
+            return field.get(object);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException("never happend exception!", e);
+        }
+    }
+
+    static Field getDeclaredField(final Class clazz, final String fieldName) {
+        for (Class superClass = clazz; superClass != Object.class; superClass = superClass.getSuperclass()) {
+            try {
+                return superClass.getDeclaredField(fieldName);
+            } catch (NoSuchFieldException exception) {
+                //But it is fair well to have this exception.
+            }
+        }
+        return null;
+    }
+
+    static void makeAccessible(final Field field) {
+        if (!Modifier.isPublic(field.getModifiers()) || !Modifier.isPublic(field.getDeclaringClass().getModifiers())) {
+            field.setAccessible(true);
+        }
+    }
+
+    static Object getSimpleProperty(Object bean, String propName)
+        throws IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+        return bean.getClass()
+            .getMethod("get" + propName.substring(0, 1).toUpperCase(Locale.ENGLISH) + propName.substring(1))
+            .invoke(bean);
+    }
+}
@@ -0,0 +1,74 @@
+package ml.rugal.sshcommon.util;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmark of {@link Num62} codec.
+ *
+ * @author Rugal Bernstein
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class Num62Benchmark {
+
+    private long value = 1234567890123456789L;
+
+    private String n62 = Num62.longToN62(value);
+
+    private String n36 = Num62.longToN36(value);
+
+    private char[] buffer = new char[Num62.LONG_N62_LEN];
+
+    private UUID uuid = UUID.randomUUID();
+
+    private String uuidN62 = Num62.uuidToN62(uuid);
+
+    @Benchmark
+    public String encodeN62() {
+        return Num62.longToN62(value);
+    }
+
+    @Benchmark
+    public String encodeN62FixedWidth() {
+        return Num62.longToN62(value, Num62.LONG_N62_LEN);
+    }
+
+    @Benchmark
+    public int encodeN62IntoBuffer() {
+        return Num62.longToN62(value, Num62.LONG_N62_LEN, buffer, 0);
+    }
+
+    @Benchmark
+    public String encodeN36() {
+        return Num62.longToN36(value);
+    }
+
+    @Benchmark
+    public long decodeN62() {
+        return Num62.n62ToLong(n62);
+    }
+
+    @Benchmark
+    public long decodeN36() {
+        return Num62.n36ToLong(n36);
+    }
+
+    @Benchmark
+    public String encodeUuid() {
+        return Num62.uuidToN62(uuid);
+    }
+
+    @Benchmark
+    public UUID decodeUuid() {
+        return Num62.n62ToUuid(uuidN62);
+    }
+}
@@ -0,0 +1,93 @@
+package ml.rugal.sshcommon.cache;
+
+import java.util.function.Function;
+
+/**
+ * A named cache of key value pairs, whose entries expire after their time to live.<BR>
+ * Implementation must be safe for concurrent use, null values are never cached.
+ *
+ * @author Rugal Bernstein
+ * @param <K> type of key
+ * @param <V> type of value
+ */
+public interface Cache<K, V> {
+
+    /**
+     * Name of this cache, that is the region it belongs to.
+     *
+     * @return name of cache.
+     */
+    String getName();
+
+    /**
+     * Get value of key.
+     *
+     * @param key key to look up
+     *
+     * @return cached value, null if absent or expired.
+     */
+    V get(K key);
+
+    /**
+     * Get value of key, load and cache it if absent.<BR>
+     * Loader may be called more than once by concurrent callers of the same key.
+     *
+     * @param key    key to look up
+     * @param loader function that loads value of key, may return null which is not cached.
+     *
+     * @return cached or loaded value.
+     */
+    default V get(K key, Function<? super K, ? extends V> loader) {
+        V value = get(key);
+        if (value == null) {
+            value = loader.apply(key);
+            if (value != null) {
+                put(key, value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Put value with default time to live of this cache.
+     *
+     * @param key   key of value
+     * @param value value to cache
+     */
+    void put(K key, V value);
+
+    /**
+     * Put value with given time to live.
+     *
+     * @param key        key of value
+     * @param value      value to cache
+     * @param timeToLive time to live in milliseconds, 0 for default time to live of this cache.
+     */
+    void put(K key, V value, long timeToLive);
+
+    /**
+     * Remove value of key if present.
+     *
+     * @param key key to remove
+     */
+    void evict(K key);
+
+    /**
+     * Remove all values.
+     */
+    void clear();
+
+    /**
+     * Number of entries, including expired ones that are not removed yet.
+     *
+     * @return number of entries.
+     */
+    int size();
+
+    /**
+     * Get statistics of this cache since it is created.
+     *
+     * @return statistics of cache.
+     */
+    CacheStatistics getStatistics();
+}
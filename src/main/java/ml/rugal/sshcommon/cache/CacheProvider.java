@@ -0,0 +1,20 @@
+package ml.rugal.sshcommon.cache;
+
+/**
+ * Provider of named caches, one cache per region.
+ *
+ * @author Rugal Bernstein
+ */
+public interface CacheProvider {
+
+    /**
+     * Get cache of region, create it if absent. The same instance is returned for the same name.
+     *
+     * @param <K>  type of key
+     * @param <V>  type of value
+     * @param name name of region
+     *
+     * @return cache of region.
+     */
+    <K, V> Cache<K, V> getCache(String name);
+}
@@ -0,0 +1,76 @@
+package ml.rugal.sshcommon.cache;
+
+/**
+ * Immutable statistics of a {@link Cache}, taken at a point of time.
+ *
+ * @author Rugal Bernstein
+ */
+public final class CacheStatistics {
+
+    /**
+     * Statistics of a cache that has never been used.
+     */
+    public static final CacheStatistics EMPTY = new CacheStatistics(0, 0, 0, 0);
+
+    public CacheStatistics(long hitCount, long missCount, long evictionCount, int size) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.size = size;
+    }
+
+    /**
+     * Number of lookups that found a value.
+     *
+     * @return number of hits.
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Number of lookups that found no value, including expired ones.
+     *
+     * @return number of misses.
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Number of entries removed for exceeding maximum size or time to live, explicit eviction is not counted.
+     *
+     * @return number of evictions.
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Ratio of hits to all lookups.
+     *
+     * @return hit rate between 0 and 1, 0 if never looked up.
+     */
+    public double getHitRate() {
+        long requests = hitCount + missCount;
+        return (requests == 0) ? 0 : (double) hitCount / requests;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStatistics{hitCount=" + hitCount + ", missCount=" + missCount + ", evictionCount="
+               + evictionCount + ", size=" + size + '}';
+    }
+
+    private final long hitCount;
+
+    private final long missCount;
+
+    private final long evictionCount;
+
+    private final int size;
+}
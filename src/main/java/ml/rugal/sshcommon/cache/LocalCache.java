@@ -0,0 +1,182 @@
+package ml.rugal.sshcommon.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.util.Assert;
+
+/**
+ * Bounded in-process cache, entries expire after their time to live.<BR>
+ * Entries are kept in insertion order, the eldest is evicted once maximum size is exceeded. Expired entry is removed
+ * when it is read, or evicted as the eldest. Hits and misses are counted without locking.
+ *
+ * @author Rugal Bernstein
+ * @param <K> type of key
+ * @param <V> type of value
+ */
+public class LocalCache<K, V> implements Cache<K, V> {
+
+    /**
+     * Create cache.
+     *
+     * @param name        name of cache
+     * @param maximumSize maximum number of entries
+     * @param timeToLive  default time to live in milliseconds, 0 for never expire.
+     */
+    public LocalCache(String name, int maximumSize, long timeToLive) {
+        Assert.hasText(name, "name of cache is required");
+        Assert.isTrue(maximumSize > 0, "maximum size must be positive");
+        Assert.isTrue(timeToLive >= 0, "time to live must not be negative");
+        this.name = name;
+        this.maximumSize = maximumSize;
+        this.timeToLive = timeToLive;
+        this.entries = new LinkedHashMap<K, Entry<V>>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > LocalCache.this.maximumSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public V get(K key) {
+        Entry<V> entry;
+        lock.readLock().lock();
+        try {
+            entry = entries.get(key);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expireAt <= currentTimeMillis()) {
+            misses.increment();
+            lock.writeLock().lock();
+            try {
+                if (entries.remove(key, entry)) {
+                    evictions.increment();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return null;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        put(key, value, 0);
+    }
+
+    @Override
+    public void put(K key, V value, long timeToLive) {
+        Assert.notNull(value, "null value is not cacheable");
+        Assert.isTrue(timeToLive >= 0, "time to live must not be negative");
+        long ttl = (timeToLive > 0) ? timeToLive : this.timeToLive;
+        Entry<V> entry = new Entry<>(value, (ttl > 0) ? currentTimeMillis() + ttl : Long.MAX_VALUE);
+        lock.writeLock().lock();
+        try {
+            //re-insert to be the latest one
+            entries.remove(key);
+            entries.put(key, entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void evict(K key) {
+        lock.writeLock().lock();
+        try {
+            entries.remove(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public CacheStatistics getStatistics() {
+        return new CacheStatistics(hits.sum(), misses.sum(), evictions.sum(), size());
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public long getTimeToLive() {
+        return timeToLive;
+    }
+
+    /**
+     * Current time for expiration, override for testing.
+     *
+     * @return current time in milliseconds.
+     */
+    protected long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    private final String name;
+
+    private final int maximumSize;
+
+    private final long timeToLive;
+
+    private final Map<K, Entry<V>> entries;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    private static final class Entry<V> {
+
+        private Entry(V value, long expireAt) {
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+
+        private final V value;
+
+        private final long expireAt;
+    }
+}
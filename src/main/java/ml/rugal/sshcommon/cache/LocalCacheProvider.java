@@ -0,0 +1,80 @@
+package ml.rugal.sshcommon.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.util.Assert;
+
+/**
+ * Provider of {@link LocalCache}, which is the default provider so that caching works without any cache server.<BR>
+ * Caches created after changing maximum size or time to live take the new setting, existing ones are unchanged.
+ *
+ * @author Rugal Bernstein
+ */
+public class LocalCacheProvider implements CacheProvider {
+
+    /**
+     * Default maximum number of entries of each cache.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 10000;
+
+    /**
+     * Default time to live of each cache, in milliseconds.
+     */
+    public static final long DEFAULT_TIME_TO_LIVE = TimeUnit.MINUTES.toMillis(5);
+
+    private static final LocalCacheProvider DEFAULT = new LocalCacheProvider();
+
+    /**
+     * Get provider shared in this class loader, with default setting.
+     *
+     * @return shared provider.
+     */
+    public static LocalCacheProvider getDefault() {
+        return DEFAULT;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <K, V> Cache<K, V> getCache(String name) {
+        return (Cache<K, V>) caches.computeIfAbsent(name, this::createCache);
+    }
+
+    /**
+     * Create cache of region.
+     *
+     * @param name name of region
+     *
+     * @return new cache.
+     */
+    protected Cache<Object, Object> createCache(String name) {
+        return new LocalCache<>(name, maximumSize, timeToLive);
+    }
+
+    /**
+     * Set maximum number of entries of each cache.
+     *
+     * @param maximumSize maximum number of entries
+     */
+    public void setMaximumSize(int maximumSize) {
+        Assert.isTrue(maximumSize > 0, "maximum size must be positive");
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Set default time to live of each cache.
+     *
+     * @param timeToLive time to live in milliseconds, 0 for never expire.
+     */
+    public void setTimeToLive(long timeToLive) {
+        Assert.isTrue(timeToLive >= 0, "time to live must not be negative");
+        this.timeToLive = timeToLive;
+    }
+
+    private final ConcurrentMap<String, Cache<Object, Object>> caches = new ConcurrentHashMap<>();
+
+    private volatile int maximumSize = DEFAULT_MAXIMUM_SIZE;
+
+    private volatile long timeToLive = DEFAULT_TIME_TO_LIVE;
+}
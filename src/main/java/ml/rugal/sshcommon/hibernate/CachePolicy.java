@@ -0,0 +1,154 @@
+package ml.rugal.sshcommon.hibernate;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Criteria;
+import org.hibernate.Query;
+import org.springframework.util.Assert;
+
+/**
+ *
+ * Immutable cache policy of a query or an entity lookup, made of cache region, time to live and {@link CacheMode}.<BR>
+ * Applied to {@link Query} or {@link Criteria}, it turns on Hibernate query cache of the region, whose expiration is
+ * configured in the cache provider of Hibernate. Time to live applies to entity read-through caches of
+ * {@link ml.rugal.sshcommon.cache.CacheProvider}, see
+ * {@link HibernateBaseDao#get(java.io.Serializable, CachePolicy)}.
+ * <p>
+ * {@link CacheMode#GET} only reads cache, {@link CacheMode#PUT} and {@link CacheMode#REFRESH} only write cache, and
+ * {@link CacheMode#IGNORE} bypasses cache.
+ *
+ * @author Rugal Bernstein
+ */
+public final class CachePolicy {
+
+    /**
+     * Cache in default region with default time to live.
+     */
+    public static final CachePolicy DEFAULT = new CachePolicy(null, 0, CacheMode.NORMAL);
+
+    /**
+     * Bypass cache.
+     */
+    public static final CachePolicy IGNORE = new CachePolicy(null, 0, CacheMode.IGNORE);
+
+    private CachePolicy(String region, long timeToLive, CacheMode cacheMode) {
+        this.region = region;
+        this.timeToLive = timeToLive;
+        this.cacheMode = cacheMode;
+    }
+
+    /**
+     * Create policy that caches in given region.
+     *
+     * @param region name of cache region
+     * <p>
+     * @return policy of region.
+     */
+    public static CachePolicy forRegion(String region) {
+        Assert.hasText(region, "name of region is required");
+        return new CachePolicy(region, 0, CacheMode.NORMAL);
+    }
+
+    /**
+     * Copy this policy with given time to live.
+     *
+     * @param duration time to live, 0 for default time to live of cache.
+     * @param unit     unit of duration
+     * <p>
+     * @return new policy.
+     */
+    public CachePolicy timeToLive(long duration, TimeUnit unit) {
+        Assert.isTrue(duration >= 0, "time to live must not be negative");
+        return new CachePolicy(region, unit.toMillis(duration), cacheMode);
+    }
+
+    /**
+     * Copy this policy with given cache mode.
+     *
+     * @param mode how cache is read and written.
+     * <p>
+     * @return new policy.
+     */
+    public CachePolicy cacheMode(CacheMode mode) {
+        Assert.notNull(mode, "cache mode is required");
+        return new CachePolicy(region, timeToLive, mode);
+    }
+
+    /**
+     * Apply this policy onto query.
+     *
+     * @param query query to be set
+     * <p>
+     * @return current query.
+     */
+    public Query applyTo(Query query) {
+        query.setCacheable(isCacheable());
+        if (isCacheable() && region != null) {
+            query.setCacheRegion(region);
+        }
+        query.setCacheMode(cacheMode);
+        return query;
+    }
+
+    /**
+     * Apply this policy onto criteria.
+     *
+     * @param criteria criteria to be set
+     * <p>
+     * @return current criteria.
+     */
+    public Criteria applyTo(Criteria criteria) {
+        criteria.setCacheable(isCacheable());
+        if (isCacheable() && region != null) {
+            criteria.setCacheRegion(region);
+        }
+        criteria.setCacheMode(cacheMode);
+        return criteria;
+    }
+
+    /**
+     * Name of cache region.
+     *
+     * @return name of region, null for default region.
+     */
+    public String getRegion() {
+        return region;
+    }
+
+    /**
+     * Time to live of cached entries.
+     *
+     * @return time to live in milliseconds, 0 for default time to live of cache.
+     */
+    public long getTimeToLive() {
+        return timeToLive;
+    }
+
+    public CacheMode getCacheMode() {
+        return cacheMode;
+    }
+
+    public boolean isCacheable() {
+        return cacheMode != CacheMode.IGNORE;
+    }
+
+    public boolean isGetEnabled() {
+        return cacheMode.isGetEnabled();
+    }
+
+    public boolean isPutEnabled() {
+        return cacheMode.isPutEnabled();
+    }
+
+    @Override
+    public String toString() {
+        return "CachePolicy{region=" + region + ", timeToLive=" + timeToLive + ", cacheMode=" + cacheMode + '}';
+    }
+
+    private final String region;
+
+    private final long timeToLive;
+
+    private final CacheMode cacheMode;
+}
@@ -0,0 +1,269 @@
+package ml.rugal.sshcommon.hibernate;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ *
+ * Cache state shared by all DAOs of a session factory.<BR>
+ * Keys of cached entities and row counts carry identifier of session factory, so that DAOs of different session
+ * factories never share entries even if they share a cache provider. Regions that entities are read through are
+ * tracked per entity name, so that a write through any DAO of an entity evicts regions read by the others.<BR>
+ * Evictions and writes to query spaces are ordered by a sequence, so that an entity loaded or a row count counted
+ * before an eviction or write is not trusted after it. Query spaces are tables, thus bounded by schema.
+ * Entities written in current Spring managed transaction are tracked, so that their uncommitted state is neither put
+ * into cache nor shadowed by cached state. Evictions and writes of a transaction are collected into one resource, and
+ * replayed once after transaction completes.
+ *
+ * @author Rugal Bernstein
+ */
+final class CacheScope {
+
+    /**
+     * Scopes by session factory, which does not keep closed session factories reachable.
+     */
+    private static final Map<SessionFactory, CacheScope> SCOPES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private CacheScope(SessionFactory sessionFactory) {
+        this.factoryId = ((SessionFactoryImplementor) sessionFactory).getUuid();
+    }
+
+    /**
+     * Get scope of session factory, created on first use.
+     *
+     * @param sessionFactory session factory of DAO
+     * <p>
+     * @return scope shared by DAOs of session factory.
+     */
+    static CacheScope of(SessionFactory sessionFactory) {
+        return SCOPES.computeIfAbsent(sessionFactory, CacheScope::new);
+    }
+
+    /**
+     * Get sequence of latest eviction, to be taken before loading an entity to cache.
+     *
+     * @return current sequence.
+     */
+    long currentSequence() {
+        return sequence.get();
+    }
+
+    /**
+     * Record eviction of entities, to be called before entries are evicted.
+     *
+     * @param entityName name of evicted entity
+     */
+    void evicted(String entityName) {
+        lastEvictions.merge(entityName, sequence.incrementAndGet(), Math::max);
+    }
+
+    /**
+     * Check if entity is evicted after given sequence, thus entity loaded before is stale.
+     *
+     * @param entityName name of entity
+     * @param loaded     sequence taken before loading
+     * <p>
+     * @return true if evicted after loading.
+     */
+    boolean isEvictedAfter(String entityName, long loaded) {
+        Long lastEviction = lastEvictions.get(entityName);
+        return lastEviction != null && lastEviction > loaded;
+    }
+
+    /**
+     * Record writes to query spaces, which invalidate row counts that read them, now and again after current
+     * transaction completes.
+     *
+     * @param querySpaces written query spaces, such as tables of an entity
+     */
+    void written(Collection<? extends Serializable> querySpaces) {
+        recordWrites(querySpaces);
+        TransactionWrites writes = getTransactionWrites();
+        if (writes != null) {
+            writes.querySpaces.addAll(querySpaces);
+        }
+    }
+
+    private void recordWrites(Collection<? extends Serializable> querySpaces) {
+        long written = sequence.incrementAndGet();
+        for (Serializable space : querySpaces) {
+            lastWrites.merge(space, written, Math::max);
+        }
+    }
+
+    /**
+     * Check if any of query spaces is written after given sequence.
+     *
+     * @param querySpaces query spaces that are read
+     * @param read        sequence taken before reading
+     * <p>
+     * @return true if written after reading.
+     */
+    boolean isWrittenAfter(Collection<? extends Serializable> querySpaces, long read) {
+        for (Serializable space : querySpaces) {
+            Long lastWrite = lastWrites.get(space);
+            if (lastWrite != null && lastWrite > read) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Record that entity is written in current transaction, and its cached entries are to be evicted again by DAO
+     * after transaction completes. Nothing is recorded without transaction synchronization.
+     *
+     * @param dao        DAO that evicts its caches
+     * @param entityName name of written entity
+     * @param ids        IDs of entities to evict, null to evict all entities.
+     */
+    void writtenInTransaction(HibernateBaseDao<?, ?> dao, String entityName, Collection<? extends Serializable> ids) {
+        TransactionWrites writes = getTransactionWrites();
+        if (writes == null) {
+            return;
+        }
+        writes.entityNames.add(entityName);
+        if (!writes.evictions.containsKey(dao)) {
+            writes.evictions.put(dao, (ids == null) ? null : new HashSet<>(ids));
+            return;
+        }
+        Set<Serializable> evicted = writes.evictions.get(dao);
+        if (evicted == null) {
+            return;
+        }
+        if (ids == null) {
+            writes.evictions.put(dao, null);
+        } else {
+            evicted.addAll(ids);
+        }
+    }
+
+    /**
+     * Check if entity is written in current transaction.
+     *
+     * @param entityName name of entity
+     * <p>
+     * @return true if written and not completed yet.
+     */
+    boolean isWrittenInTransaction(String entityName) {
+        TransactionWrites writes = (TransactionWrites) TransactionSynchronizationManager.getResource(this);
+        return writes != null && writes.entityNames.contains(entityName);
+    }
+
+    /**
+     * Get writes of current transaction, bind it and register one synchronization that replays it on first use.
+     *
+     * @return writes of current transaction, null without transaction synchronization.
+     */
+    private TransactionWrites getTransactionWrites() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        TransactionWrites writes = (TransactionWrites) TransactionSynchronizationManager.getResource(this);
+        if (writes == null) {
+            TransactionWrites created = new TransactionWrites();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CacheScope.this);
+                    if (!created.querySpaces.isEmpty()) {
+                        recordWrites(created.querySpaces);
+                    }
+                    created.evictions.forEach(HibernateBaseDao::doEvictCache);
+                }
+            });
+            writes = created;
+        }
+        return writes;
+    }
+
+    /**
+     * Mark that row counts of this session factory are cached, so that writes to query spaces are to be recorded.
+     */
+    void enableRowCounts() {
+        rowCountsEnabled = true;
+    }
+
+    /**
+     * Check if any DAO of this session factory caches row counts.
+     *
+     * @return true if writes to query spaces are to be recorded.
+     */
+    boolean isRowCountsEnabled() {
+        return rowCountsEnabled;
+    }
+
+    /**
+     * Identifier of session factory, to be part of cache keys.
+     *
+     * @return UUID of session factory.
+     */
+    String getFactoryId() {
+        return factoryId;
+    }
+
+    /**
+     * Record a region that entities are read through.
+     *
+     * @param entityName name of entity
+     * @param region     name of region
+     */
+    void addRegion(String entityName, String region) {
+        Set<String> entityRegions = regions.get(entityName);
+        if (entityRegions == null) {
+            entityRegions = regions.computeIfAbsent(entityName, name -> ConcurrentHashMap.newKeySet());
+        }
+        entityRegions.add(region);
+    }
+
+    /**
+     * Get regions that entities are read through.
+     *
+     * @param entityName name of entity
+     * <p>
+     * @return regions of entity, empty if none.
+     */
+    Set<String> getRegions(String entityName) {
+        Set<String> entityRegions = regions.get(entityName);
+        return (entityRegions == null) ? Collections.emptySet() : entityRegions;
+    }
+
+    private final String factoryId;
+
+    private final ConcurrentMap<String, Set<String>> regions = new ConcurrentHashMap<>();
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final ConcurrentMap<String, Long> lastEvictions = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Serializable, Long> lastWrites = new ConcurrentHashMap<>();
+
+    private volatile boolean rowCountsEnabled = false;
+
+    /**
+     * Writes of a transaction, only accessed by thread of transaction.
+     */
+    private static final class TransactionWrites {
+
+        private final Set<String> entityNames = new HashSet<>();
+
+        private final Set<Serializable> querySpaces = new HashSet<>();
+
+        private final Map<HibernateBaseDao<?, ?>, Set<Serializable>> evictions = new HashMap<>();
+    }
+}
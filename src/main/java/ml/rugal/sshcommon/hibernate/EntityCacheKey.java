@@ -0,0 +1,57 @@
+package ml.rugal.sshcommon.hibernate;
+
+import java.io.Serializable;
+
+/**
+ * Key of cached entity, made of session factory, entity name and identifier.
+ *
+ * @author Rugal Bernstein
+ */
+final class EntityCacheKey {
+
+    EntityCacheKey(String factoryId, String entityName, Serializable id) {
+        this.factoryId = factoryId;
+        this.entityName = entityName;
+        this.id = id;
+        this.hashCode = 31 * (31 * factoryId.hashCode() + entityName.hashCode()) + id.hashCode();
+    }
+
+    String getEntityName() {
+        return entityName;
+    }
+
+    Serializable getId() {
+        return id;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof EntityCacheKey)) {
+            return false;
+        }
+        EntityCacheKey other = (EntityCacheKey) obj;
+        return hashCode == other.hashCode && entityName.equals(other.entityName) && id.equals(other.id)
+               && factoryId.equals(other.factoryId);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return entityName + '#' + id;
+    }
+
+    private final String factoryId;
+
+    private final String entityName;
+
+    private final Serializable id;
+
+    private final int hashCode;
+}
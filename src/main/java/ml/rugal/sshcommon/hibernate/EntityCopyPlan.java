@@ -0,0 +1,182 @@
+package ml.rugal.sshcommon.hibernate;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.PropertyNotFoundException;
+import org.hibernate.internal.util.ReflectHelper;
+import org.hibernate.metadata.ClassMetadata;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.property.access.spi.Getter;
+import org.hibernate.tuple.entity.EntityTuplizer;
+
+/**
+ *
+ * Precomputed plan of copying properties between objects of an entity class.<BR>
+ * Properties except identifier are resolved once with their getters and setters as method handles, thus copying
+ * requires neither method name concatenation nor reflective lookup. Accessors are the ones that Hibernate uses by
+ * property access strategy of mapping, property of field access or any other strategy is accessed through
+ * {@link ClassMetadata} instead, the same as Hibernate does.
+ *
+ * @author Rugal Bernstein
+ */
+final class EntityCopyPlan {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    /**
+     * Build copy plan for entity class.
+     *
+     * @param entityClass class to copy between
+     * @param cm          metadata of entity class
+     * <p>
+     * @return plan of entity class.
+     */
+    static EntityCopyPlan build(Class<?> entityClass, ClassMetadata cm) {
+        String[] propNames = cm.getPropertyNames();
+        String identifierName = cm.getIdentifierPropertyName();
+        List<Integer> indexes = new ArrayList<>(propNames.length);
+        for (int i = 0; i < propNames.length; i++) {
+            if (!propNames[i].equals(identifierName)) {
+                indexes.add(i);
+            }
+        }
+        int size = indexes.size();
+        EntityTuplizer tuplizer = (cm instanceof EntityPersister) ? ((EntityPersister) cm).getEntityTuplizer() : null;
+        EntityCopyPlan plan = new EntityCopyPlan(cm, size);
+        for (int i = 0; i < size; i++) {
+            int index = indexes.get(i);
+            String name = propNames[index];
+            plan.names[i] = name;
+            plan.propertyIndexes[i] = index;
+            Getter getter = (tuplizer == null) ? null : tuplizer.getGetter(index);
+            Method getterMethod = (getter == null) ? null : getter.getMethod();
+            if (getterMethod == null) {
+                //Not property access, leave it to metadata.
+                continue;
+            }
+            MethodHandle setter = toHandle(findSetter(entityClass, name, getter.getReturnType()), SETTER_TYPE);
+            if (setter != null) {
+                plan.getters[i] = toHandle(getterMethod, GETTER_TYPE);
+                plan.setters[i] = (plan.getters[i] == null) ? null : setter;
+            }
+        }
+        return plan;
+    }
+
+    private EntityCopyPlan(ClassMetadata cm, int size) {
+        this.cm = cm;
+        this.names = new String[size];
+        this.propertyIndexes = new int[size];
+        this.getters = new MethodHandle[size];
+        this.setters = new MethodHandle[size];
+    }
+
+    /**
+     * Number of properties in this plan.
+     *
+     * @return number of properties
+     */
+    int size() {
+        return names.length;
+    }
+
+    String getName(int i) {
+        return names[i];
+    }
+
+    /**
+     * Index of property in {@link ClassMetadata#getPropertyNames()}.
+     *
+     * @param i index of property in this plan
+     * <p>
+     * @return index of property in metadata.
+     */
+    int getPropertyIndex(int i) {
+        return propertyIndexes[i];
+    }
+
+    /**
+     * Read property value.
+     *
+     * @param i    index of property in this plan
+     * @param bean object to read from
+     * <p>
+     * @return property value.
+     */
+    Object get(int i, Object bean) {
+        MethodHandle getter = getters[i];
+        if (getter == null) {
+            return cm.getPropertyValue(bean, names[i]);
+        }
+        try {
+            return (Object) getter.invokeExact(bean);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException("read property failed: '" + names[i] + "'", e);
+        }
+    }
+
+    /**
+     * Write property value.
+     *
+     * @param i      index of property in this plan
+     * @param target object to write into
+     * @param value  property value
+     */
+    void set(int i, Object target, Object value) {
+        MethodHandle setter = setters[i];
+        if (setter == null) {
+            cm.setPropertyValue(target, names[i], value);
+            return;
+        }
+        try {
+            setter.invokeExact(target, value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException("write property failed: '" + names[i] + "'", e);
+        }
+    }
+
+    /**
+     * Find setter the same way as property access strategy of Hibernate.
+     */
+    private static Method findSetter(Class<?> entityClass, String name, Class<?> type) {
+        try {
+            return ReflectHelper.findSetterMethod(entityClass, name, type);
+        } catch (PropertyNotFoundException e) {
+            return null;
+        }
+    }
+
+    private static MethodHandle toHandle(Method method, MethodType type) {
+        if (method == null) {
+            return null;
+        }
+        try {
+            //Hibernate accesses non public accessors as well.
+            method.setAccessible(true);
+            return MethodHandles.lookup().unreflect(method).asType(type);
+        } catch (IllegalAccessException | SecurityException e) {
+            return null;
+        }
+    }
+
+    private final ClassMetadata cm;
+
+    private final String[] names;
+
+    private final int[] propertyIndexes;
+
+    private final MethodHandle[] getters;
+
+    private final MethodHandle[] setters;
+}
@@ -0,0 +1,113 @@
+package ml.rugal.sshcommon.hibernate;
+
+import java.io.Serializable;
+
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.metadata.ClassMetadata;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.type.CompositeType;
+import org.hibernate.type.EntityType;
+import org.hibernate.type.Type;
+
+/**
+ *
+ * Immutable snapshot of entity state, that is shared across sessions and threads.<BR>
+ * Property values are deep copied, associated entities are kept as identifiers. Each restored entity is a new
+ * detached instance, whose associations are proxies of the restoring session. Entity that has collection or
+ * {@code any} mapping is not supported, as its state could not be restored without querying.
+ *
+ * @author Rugal Bernstein
+ */
+final class EntitySnapshot {
+
+    private EntitySnapshot(Serializable id, Object[] values) {
+        this.id = id;
+        this.values = values;
+    }
+
+    /**
+     * Check if entity state is supported by snapshot.
+     *
+     * @param cm metadata of entity class
+     * <p>
+     * @return true if entity could be captured.
+     */
+    static boolean isSupported(ClassMetadata cm) {
+        return isSupported(cm.getPropertyTypes(), false);
+    }
+
+    private static boolean isSupported(Type[] types, boolean inComponent) {
+        for (Type type : types) {
+            if (type.isCollectionType() || type.isAnyType()) {
+                return false;
+            }
+            //associations inside component are not resolvable by identifier
+            if (type.isEntityType() && inComponent) {
+                return false;
+            }
+            if (type.isComponentType() && !isSupported(((CompositeType) type).getSubtypes(), true)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Capture state of an entity that is loaded by session.
+     *
+     * @param entity  persistent entity or its proxy
+     * @param cm      metadata of entity class, must be {@link #isSupported(ClassMetadata) supported}.
+     * @param session session that entity belongs to
+     * <p>
+     * @return snapshot of entity.
+     */
+    static EntitySnapshot capture(Object entity, ClassMetadata cm, Session session) {
+        SharedSessionContractImplementor implementor = (SharedSessionContractImplementor) session;
+        Object target = (entity instanceof HibernateProxy)
+                        ? ((HibernateProxy) entity).getHibernateLazyInitializer().getImplementation()
+                        : entity;
+        Type[] types = cm.getPropertyTypes();
+        Object[] values = cm.getPropertyValues(target);
+        for (int i = 0; i < types.length; i++) {
+            if (values[i] == null) {
+                continue;
+            }
+            values[i] = types[i].isEntityType()
+                        ? session.getIdentifier(values[i])
+                        : types[i].deepCopy(values[i], implementor.getFactory());
+        }
+        return new EntitySnapshot(cm.getIdentifier(target, implementor), values);
+    }
+
+    /**
+     * Restore a new detached entity from this snapshot.
+     *
+     * @param cm      metadata of entity class
+     * @param session session to resolve associations
+     * <p>
+     * @return new entity instance.
+     */
+    Object restore(ClassMetadata cm, Session session) {
+        SharedSessionContractImplementor implementor = (SharedSessionContractImplementor) session;
+        SessionFactoryImplementor factory = implementor.getFactory();
+        Type[] types = cm.getPropertyTypes();
+        Object[] state = new Object[values.length];
+        for (int i = 0; i < types.length; i++) {
+            if (values[i] == null) {
+                continue;
+            }
+            state[i] = types[i].isEntityType()
+                       ? session.load(((EntityType) types[i]).getAssociatedEntityName(), (Serializable) values[i])
+                       : types[i].deepCopy(values[i], factory);
+        }
+        Object entity = cm.instantiate(id, implementor);
+        cm.setPropertyValues(entity, state);
+        return entity;
+    }
+
+    private final Serializable id;
+
+    private final Object[] values;
+}
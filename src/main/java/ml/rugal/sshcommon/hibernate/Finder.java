@@ -26,6 +26,10 @@ public class Finder {
         hqlBuilder = new StringBuilder(hql);
     }
 
+    protected Finder(FinderTemplate template) {
+        this.template = template;
+    }
+
     public static Finder create() {
         return new Finder();
     }
@@ -41,6 +45,17 @@ public class Finder {
         return new Finder(hql);
     }
 
+    /**
+     * Create finder with precompiled template.
+     *
+     * @param template Template that is shared by many finders.
+     * <p>
+     * @return finder that binds parameters onto given template.
+     */
+    public static Finder create(FinderTemplate template) {
+        return new Finder(template);
+    }
+
     /**
      * Append SQL onto existed HQL
      *
@@ -49,7 +64,12 @@ public class Finder {
      * @return current finder object.
      */
     public Finder append(String hql) {
+        if (hqlBuilder == null) {
+            hqlBuilder = new StringBuilder(template.getHql());
+        }
         hqlBuilder.append(hql);
+        template = null;
+        origHql = null;
         return this;
     }
 
@@ -59,28 +79,93 @@ public class Finder {
      * @return the original string or HQL
      */
     public String getOrigHql() {
-        return hqlBuilder.toString();
+        if (template != null) {
+            return template.getHql();
+        }
+        if (origHql == null) {
+            origHql = hqlBuilder.toString();
+        }
+        return origHql;
     }
 
     /**
-     * Count the row number of result set fetched from database.
+     * Count the row number of result set fetched from database.<BR>
+     * Derived HQL is cached by its precompiled template, see {@link FinderTemplate}.
      *
      * @return row number counted
      */
     public String getRowCountHql() {
-        String hql = hqlBuilder.toString();
+        return getTemplate().getRowCountHql();
+    }
 
-        int fromIndex = hql.toLowerCase().indexOf(FROM);
-        String projectionHql = hql.substring(0, fromIndex);
+    /**
+     * Whether row number is the number of rows returned by row count HQL, see
+     * {@link FinderTemplate#isRowCountByRows()}.
+     *
+     * @return true if rows of row count HQL are to be counted.
+     */
+    public boolean isRowCountByRows() {
+        return getTemplate().isRowCountByRows();
+    }
 
-        hql = hql.substring(fromIndex);
-        String rowCountHql = hql.replace(HQL_FETCH, "");
+    /**
+     * Get precompiled template of current HQL.
+     *
+     * @return template of current HQL.
+     */
+    public FinderTemplate getTemplate() {
+        if (template == null) {
+            template = FinderTemplate.compile(getOrigHql());
+        }
+        return template;
+    }
 
-        int index = rowCountHql.indexOf(ORDER_BY);
-        if (index > 0) {
-            rowCountHql = rowCountHql.substring(0, index);
+    /**
+     * Generate HQL for keyset pagination, that filters records after the cursor and orders by sort key.<BR>
+     * Ordering is decided by sort key, thus {@code order by} clause of original HQL is dropped.
+     *
+     * @param hasCursor whether to filter records after {@link #KEYSET_AFTER} parameter.
+     *
+     * @return HQL for seeking a page.
+     */
+    public String getKeysetHql(boolean hasCursor) {
+        if (sortKey == null) {
+            throw new IllegalStateException("Sort key is required for keyset pagination");
         }
-        return wrapProjection(projectionHql) + rowCountHql;
+        return getTemplate().getKeysetHql(sortKey, sortDescending, hasCursor);
+    }
+
+    /**
+     * Declare a stable and unique sort key in ascending order for keyset pagination.
+     *
+     * @param sortKey The sort key with alias, such as {@code bean.id} or {@code bean.customer.id}
+     * <p>
+     * @return current finder object.
+     */
+    public Finder setSortKey(String sortKey) {
+        return setSortKey(sortKey, false);
+    }
+
+    /**
+     * Declare a stable and unique sort key for keyset pagination.
+     *
+     * @param sortKey    The sort key with alias, such as {@code bean.id} or {@code bean.customer.id}
+     * @param descending sort in descending order.
+     * <p>
+     * @return current finder object.
+     */
+    public Finder setSortKey(String sortKey, boolean descending) {
+        this.sortKey = sortKey;
+        this.sortDescending = descending;
+        return this;
+    }
+
+    public String getSortKey() {
+        return sortKey;
+    }
+
+    public boolean isSortDescending() {
+        return sortDescending;
     }
 
     public int getFirstResult() {
@@ -107,6 +192,22 @@ public class Finder {
         this.cacheable = cacheable;
     }
 
+    public CachePolicy getCachePolicy() {
+        return cachePolicy;
+    }
+
+    /**
+     * Set cache policy for query, which takes precedence over {@link #setCacheable(boolean)}.
+     *
+     * @param cachePolicy cache policy, null to use {@link #isCacheable()}.
+     * <p>
+     * @return current finder object.
+     */
+    public Finder setCachePolicy(CachePolicy cachePolicy) {
+        this.cachePolicy = cachePolicy;
+        return this;
+    }
+
     /**
      * Set predicate for query.
      *
@@ -247,18 +348,52 @@ public class Finder {
         if (getMaxResults() > 0) {
             query.setMaxResults(getMaxResults());
         }
+        return setCacheToQuery(query);
+    }
+
+    /**
+     * Set cache policy, or cacheable flag if no policy is set, to query.
+     *
+     * @param query to be set
+     * <p>
+     * @return Current query
+     */
+    public Query setCacheToQuery(Query query) {
+        if (cachePolicy != null) {
+            return cachePolicy.applyTo(query);
+        }
         if (isCacheable()) {
             query.setCacheable(true);
         }
         return query;
     }
 
-    private String wrapProjection(String projection) {
-        if (!projection.contains("select")) {
-            return ROW_COUNT;
-        } else {
-            return projection.replace("select", "select count(") + ") ";
+    /**
+     * Get snapshot of bound parameter names and values, collections are copied into arrays.
+     *
+     * @return names followed by their values.
+     */
+    Object[] getParameterSnapshot() {
+        List<Object> snapshot = new ArrayList<>();
+        if (params != null) {
+            for (int i = 0; i < params.size(); i++) {
+                snapshot.add(params.get(i));
+                snapshot.add(values.get(i));
+            }
+        }
+        if (paramsList != null) {
+            for (int i = 0; i < paramsList.size(); i++) {
+                snapshot.add(paramsList.get(i));
+                snapshot.add(valuesList.get(i).toArray());
+            }
+        }
+        if (paramsArray != null) {
+            for (int i = 0; i < paramsArray.size(); i++) {
+                snapshot.add(paramsArray.get(i));
+                snapshot.add(valuesArray.get(i).clone());
+            }
         }
+        return snapshot.toArray();
     }
 
     private List<String> getParams() {
@@ -326,6 +461,10 @@ public class Finder {
 
     private StringBuilder hqlBuilder;
 
+    private String origHql;
+
+    private FinderTemplate template;
+
     private List<String> params;
 
     private List<Object> values;
@@ -350,6 +489,12 @@ public class Finder {
 
     private boolean cacheable = false;
 
+    private CachePolicy cachePolicy;
+
+    private String sortKey;
+
+    private boolean sortDescending = false;
+
     public static final String ROW_COUNT = "select count(*) ";
 
     public static final String FROM = "from";
@@ -359,4 +504,13 @@ public class Finder {
     public static final String HQL_FETCH = "fetch";
 
     public static final String ORDER_BY = "order";
+
+    public static final String WHERE = "where";
+
+    public static final String GROUP_BY = "group";
+
+    /**
+     * Parameter name of cursor value in keyset pagination.
+     */
+    public static final String KEYSET_AFTER = "keysetAfter";
 }
@@ -0,0 +1,281 @@
+package ml.rugal.sshcommon.hibernate;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import ml.rugal.sshcommon.hibernate.HqlTokenizer.Token;
+import org.springframework.util.Assert;
+
+/**
+ *
+ * Precompiled HQL template for {@link Finder}.<BR>
+ * A template is immutable and thread safe, derived HQL such as row count HQL is computed once and shared by all
+ * finders created from it, thus each request only need to bind its parameters.<BR>
+ * HQL is analyzed by {@link HqlTokenizer}, only clauses of outermost query are considered, subqueries and literals
+ * are kept as they are.
+ *
+ * @author Rugal Bernstein
+ */
+public final class FinderTemplate {
+
+    /**
+     * Maximum number of templates cached by {@link #compile(java.lang.String)}.
+     */
+    public static final int MAX_CACHED_TEMPLATES = 512;
+
+    private static final ConcurrentMap<String, CachedTemplate> TEMPLATES = new ConcurrentHashMap<>();
+
+    /**
+     * Get precompiled template of given HQL.<BR>
+     * Templates are cached by second chance (clock) eviction: once the cache is full, a template that is not used
+     * since it was last swept is evicted for the new one, thus ad hoc HQL does not keep hot templates out of cache.
+     *
+     * @param hql The HQL of template
+     * <p>
+     * @return template of given HQL.
+     */
+    public static FinderTemplate compile(String hql) {
+        Assert.hasText(hql);
+        CachedTemplate cached = TEMPLATES.get(hql);
+        if (cached != null) {
+            if (!cached.referenced) {
+                cached.referenced = true;
+            }
+            return cached.template;
+        }
+        if (TEMPLATES.size() >= MAX_CACHED_TEMPLATES) {
+            evictOne();
+        }
+        CachedTemplate created = new CachedTemplate(new FinderTemplate(hql));
+        CachedTemplate existed = TEMPLATES.putIfAbsent(hql, created);
+        return (existed == null) ? created.template : existed.template;
+    }
+
+    /**
+     * Evict a template that is not referenced, clearing reference flag of templates passed by.
+     */
+    private static void evictOne() {
+        for (int pass = 0; pass < 2; pass++) {
+            for (Iterator<CachedTemplate> it = TEMPLATES.values().iterator(); it.hasNext();) {
+                CachedTemplate cached = it.next();
+                if (!cached.referenced) {
+                    it.remove();
+                    return;
+                }
+                cached.referenced = false;
+            }
+        }
+    }
+
+    private FinderTemplate(String hql) {
+        this.hql = hql;
+    }
+
+    /**
+     * Create a new finder based on this template.
+     *
+     * @return A finder that shares HQL of this template.
+     */
+    public Finder createFinder() {
+        return Finder.create(this);
+    }
+
+    public String getHql() {
+        return hql;
+    }
+
+    /**
+     * Get row count HQL of this template, which is derived only once.
+     *
+     * @return HQL that count row number of this template.
+     *
+     * @see #isRowCountByRows()
+     */
+    public String getRowCountHql() {
+        String countHql = rowCountHql;
+        if (countHql == null) {
+            countHql = deriveRowCountHql();
+            rowCountHql = countHql;
+        }
+        return countHql;
+    }
+
+    /**
+     * Whether row number is the number of rows returned by row count HQL, rather than its single result. This is the
+     * case for grouped query and distinct query of many columns, which could not be counted by one aggregate in HQL.
+     *
+     * @return true if rows of row count HQL are to be counted.
+     */
+    public boolean isRowCountByRows() {
+        getRowCountHql();
+        return rowCountByRows;
+    }
+
+    /**
+     * Generate HQL for keyset pagination, the predicate of sort key is added into outermost query, original
+     * {@code order by} clause is replaced by ordering of sort key.
+     *
+     * @param sortKey    The sort key with alias
+     * @param descending sort in descending order
+     * @param hasCursor  whether to filter records after {@link Finder#KEYSET_AFTER} parameter.
+     * <p>
+     * @return HQL for seeking a page.
+     */
+    public String getKeysetHql(String sortKey, boolean descending, boolean hasCursor) {
+        List<Token> tokens = getTokens();
+        int orderIndex = HqlTokenizer.indexOfClause(tokens, Finder.ORDER_BY, BY, 0);
+        int groupIndex = HqlTokenizer.indexOfClause(tokens, Finder.GROUP_BY, BY, 0);
+        int end = orderIndex < 0 ? hql.length() : tokens.get(orderIndex).start;
+        int predicateEnd = groupIndex < 0 ? end : tokens.get(groupIndex).start;
+
+        StringBuilder keysetHql = new StringBuilder(hql.length() + 64);
+        if (hasCursor) {
+            int whereIndex = HqlTokenizer.indexOfKeyword(tokens, Finder.WHERE, 0);
+            if (whereIndex >= 0 && tokens.get(whereIndex).start < predicateEnd) {
+                //wrap original predicate so that OR operator will not mess up with keyset predicate
+                int whereEnd = tokens.get(whereIndex).end;
+                keysetHql.append(hql, 0, whereEnd)
+                    .append(" (").append(hql, whereEnd, predicateEnd).append(") and ");
+            } else {
+                keysetHql.append(hql, 0, predicateEnd).append(" where ");
+            }
+            keysetHql.append(sortKey).append(descending ? " < :" : " > :").append(Finder.KEYSET_AFTER)
+                .append(' ').append(hql, predicateEnd, end);
+        } else {
+            keysetHql.append(hql, 0, end);
+        }
+        keysetHql.append(" order by ").append(sortKey).append(descending ? " desc" : " asc");
+        return keysetHql.toString();
+    }
+
+    private List<Token> getTokens() {
+        List<Token> result = tokens;
+        if (result == null) {
+            result = HqlTokenizer.tokenize(hql);
+            tokens = result;
+        }
+        return result;
+    }
+
+    /**
+     * Derive row count HQL.<BR>
+     * 1. Projection is replaced by {@code count(*)}, or {@code count(distinct ...)} for distinct projection.<BR>
+     * 2. {@code fetch} of joins is dropped as there is no entity to initialize.<BR>
+     * 3. {@code order by} clause is dropped as it does not affect row count.<BR>
+     * 4. Projection of grouped query is replaced by {@code count(*)}, which returns one row per group, thus rows are
+     * counted instead.<BR>
+     * 5. Distinct projection of many columns or of {@code new} is kept as is, since {@code count(distinct a, b)} is not
+     * portable, thus rows are counted instead. So is grouped query of distinct projection.
+     *
+     * @return HQL that count row number.
+     */
+    private String deriveRowCountHql() {
+        List<Token> tokens = getTokens();
+        int fromIndex = HqlTokenizer.indexOfKeyword(tokens, Finder.FROM, 0);
+        if (fromIndex < 0) {
+            throw new IllegalStateException("Unable to count row number of HQL without from clause: " + hql);
+        }
+        int orderIndex = HqlTokenizer.indexOfClause(tokens, Finder.ORDER_BY, BY, fromIndex);
+        int limit = orderIndex < 0 ? tokens.size() : orderIndex;
+        int end = orderIndex < 0 ? hql.length() : tokens.get(orderIndex).start;
+
+        StringBuilder countHql = new StringBuilder(end + 32);
+        int selectIndex = HqlTokenizer.indexOfKeyword(tokens, SELECT, 0);
+        boolean grouped = HqlTokenizer.indexOfClause(tokens, Finder.GROUP_BY, BY, fromIndex) >= 0;
+        if (selectIndex >= 0 && selectIndex + 2 < fromIndex && tokens.get(selectIndex + 1).is(Finder.DISTINCT)) {
+            if (grouped || isMultiColumn(tokens, selectIndex + 2, fromIndex)) {
+                countHql.append(hql, tokens.get(selectIndex).start, tokens.get(fromIndex - 1).end).append(' ');
+                rowCountByRows = true;
+            } else {
+                countHql.append("select count(").append(hql, tokens.get(selectIndex + 1).start,
+                                                        tokens.get(fromIndex - 1).end).append(") ");
+            }
+        } else {
+            countHql.append(Finder.ROW_COUNT);
+            rowCountByRows = grouped;
+        }
+
+        int copied = tokens.get(fromIndex).start;
+        for (int i = fromIndex + 1; i < limit; i++) {
+            Token token = tokens.get(i);
+            if (token.depth != 0 || !token.is(Finder.HQL_FETCH)) {
+                continue;
+            }
+            int last = i;
+            if (i + 2 < limit && tokens.get(i + 1).is(ALL) && tokens.get(i + 2).is(PROPERTIES)) {
+                last = i + 2;
+            } else if (!tokens.get(i - 1).is(JOIN)) {
+                continue;
+            }
+            countHql.append(hql, copied, token.start);
+            copied = tokens.get(last).end;
+            i = last;
+        }
+        countHql.append(hql, copied, end);
+        return countHql.toString().trim();
+    }
+
+    /**
+     * Check if projection has more than one column at top level, or constructs an object by {@code new}.
+     *
+     * @param tokens tokens of HQL
+     * @param start  index of first token of projection
+     * @param end    index of {@code from} keyword
+     * <p>
+     * @return true if projection could not be counted by {@code count(distinct ...)}.
+     */
+    private boolean isMultiColumn(List<Token> tokens, int start, int end) {
+        if (tokens.get(start).is(NEW)) {
+            return true;
+        }
+        for (int i = start; i < end; i++) {
+            Token token = tokens.get(i);
+            if (token.depth == 0 && token.kind == HqlTokenizer.Kind.SYMBOL && hql.charAt(token.start) == ',') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private final String hql;
+
+    /**
+     * Lazily derived, racing threads compute the same value.
+     */
+    private volatile String rowCountHql;
+
+    /**
+     * Derived along with row count HQL, written before it.
+     */
+    private volatile boolean rowCountByRows;
+
+    private volatile List<Token> tokens;
+
+    private static final String SELECT = "select";
+
+    private static final String BY = "by";
+
+    private static final String JOIN = "join";
+
+    private static final String ALL = "all";
+
+    private static final String PROPERTIES = "properties";
+
+    private static final String NEW = "new";
+
+    private static final class CachedTemplate {
+
+        private CachedTemplate(FinderTemplate template) {
+            this.template = template;
+        }
+
+        private final FinderTemplate template;
+
+        /**
+         * Whether template is used since last sweep, racy updates only affect which template is evicted.
+         */
+        private volatile boolean referenced;
+    }
+}
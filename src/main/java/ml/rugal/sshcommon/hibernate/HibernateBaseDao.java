@@ -1,18 +1,37 @@
 package ml.rugal.sshcommon.hibernate;
 
 import java.io.Serializable;
-import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import javax.annotation.Resource;
+
+import ml.rugal.sshcommon.cache.Cache;
+import ml.rugal.sshcommon.cache.CacheStatistics;
+import ml.rugal.sshcommon.cache.LocalCache;
+import ml.rugal.sshcommon.cache.LocalCacheProvider;
+import ml.rugal.sshcommon.hibernate.metrics.DaoMetrics.Timer;
 import ml.rugal.sshcommon.page.Pagination;
-import ml.rugal.sshcommon.util.BeanUtils;
+import org.hibernate.CacheMode;
 import org.hibernate.Criteria;
-import org.hibernate.HibernateException;
 import org.hibernate.LockMode;
+import org.hibernate.Query;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.criterion.Criterion;
 import org.hibernate.criterion.Projections;
 import org.hibernate.criterion.Restrictions;
 import org.hibernate.metadata.ClassMetadata;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.Type;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
@@ -31,15 +50,75 @@ import org.springframework.util.Assert;
 @Transactional
 public abstract class HibernateBaseDao<T, ID extends Serializable> extends HibernateSimpleDao {
 
+    /**
+     * Default number of identifiers in one {@code IN} list, which is below parameter limit of most databases.
+     */
+    public static final int DEFAULT_IN_LIST_SIZE = 500;
+
+    /**
+     * Maximum number of identifiers in one {@code IN} list.
+     */
+    protected int inListSize = DEFAULT_IN_LIST_SIZE;
+
+    private volatile EntityCopyPlan copyPlan;
+
+    /**
+     * Near cache of {@link #getCached(java.io.Serializable)}, null if disabled.
+     */
+    private volatile Cache<EntityCacheKey, EntitySnapshot> nearCache;
+
+    private int nearCacheSize = 0;
+
+    private long nearCacheTimeToLive = LocalCacheProvider.DEFAULT_TIME_TO_LIVE;
+
+    private static final String IDS = "ids";
+
+    private static final String ID = "id";
+
+    private static final String VERSION = "version";
+
+    private static final String PROPERTY_PREFIX = "p";
+
     /**
      * @see org.hibernate.Session#get(Class,Serializable)
+     * @see #getCached(java.io.Serializable)
      * @param id primary key to criteria for.
      * <p>
      * @return get reflected object.
      */
     @Transactional(readOnly = true)
     public T get(ID id) {
-        return get(id, false);
+        Timer timer = startTimer();
+        try {
+            T entity = get(id, false);
+            timer.stop("get", (entity == null) ? 0 : 1, id);
+            return entity;
+        } finally {
+            timer.stopIfFailed("get", id);
+        }
+    }
+
+    /**
+     * Get object by ID, read through near cache if it is enabled by {@link #setNearCacheSize(int)}.<BR>
+     * Entity already in session is returned as is. Entity found in near cache is restored as a new detached instance,
+     * which is neither dirty checked nor the same instance as later loaded in session, thus update it by
+     * {@link #updateByUpdater(Updater)}. Use {@link #get(java.io.Serializable)} for managed instance.
+     *
+     * @param id primary key to get.
+     * <p>
+     * @return found object, null if not found.
+     */
+    @Transactional(readOnly = true)
+    public T getCached(ID id) {
+        Timer timer = startTimer();
+        try {
+            Cache<EntityCacheKey, EntitySnapshot> cache = nearCache;
+            T entity = (cache == null) ? get(id, false) : readThrough(id, cache, CacheMode.NORMAL, 0);
+            timer.stop("getCached", (entity == null) ? 0 : 1, id);
+            return entity;
+        } finally {
+            timer.stopIfFailed("getCached", id);
+        }
     }
 
     /**
@@ -57,6 +136,317 @@ public abstract class HibernateBaseDao<T, ID extends Serializable> extends Hiber
         return entity;
     }
 
+    /**
+     * Get object by ID, read through entity cache of given policy.<BR>
+     * Entity already in session is returned as is. Entity found in cache is restored as a new detached instance, thus
+     * update it by {@link #updateByUpdater(Updater)} instead of dirty checking. Entity that has collection is never
+     * cached, but still loaded with cache mode of policy.
+     *
+     * @param id     primary key to get.
+     * @param policy cache policy, whose region is entity name by default.
+     * <p>
+     * @return found object, null if not found.
+     */
+    @Transactional(readOnly = true)
+    public T get(ID id, CachePolicy policy) {
+        Assert.notNull(id, "id is required");
+        Assert.notNull(policy, "cache policy is required");
+        Timer timer = startTimer();
+        try {
+            T entity;
+            if (policy.isCacheable()) {
+                String region = (policy.getRegion() == null) ? getEntityClass().getName() : policy.getRegion();
+                getCacheScope().addRegion(sessionFactory.getClassMetadata(getEntityClass()).getEntityName(), region);
+                entity = readThrough(id, cacheProvider.getCache(region), policy.getCacheMode(),
+                                     policy.getTimeToLive());
+            } else {
+                entity = getSession().byId(getEntityClass()).with(policy.getCacheMode()).load(id);
+            }
+            timer.stop("get", (entity == null) ? 0 : 1, id);
+            return entity;
+        } finally {
+            timer.stopIfFailed("get", id);
+        }
+    }
+
+    /**
+     * Get object by ID, read through given cache of snapshots.<BR>
+     * Entity already in session is returned as is whatever cache mode is, and never put into cache as it might be
+     * dirty. Cache is bypassed once entity is written in current transaction. Entity loaded before an eviction is not
+     * put.
+     *
+     * @param id         primary key to get
+     * @param cache      cache of snapshots
+     * @param mode       how cache is read and written
+     * @param timeToLive time to live of snapshot, 0 for default time to live of cache.
+     * <p>
+     * @return found object, null if not found.
+     */
+    private T readThrough(ID id, Cache<EntityCacheKey, EntitySnapshot> cache, CacheMode mode, long timeToLive) {
+        Session session = getSession();
+        ClassMetadata cm = sessionFactory.getClassMetadata(getEntityClass());
+        if (!EntitySnapshot.isSupported(cm)) {
+            return session.byId(getEntityClass()).with(mode).load(id);
+        }
+        Object managed = getFromSession(session, cm, id);
+        if (managed != null) {
+            return (T) managed;
+        }
+        CacheScope scope = getCacheScope();
+        String entityName = cm.getEntityName();
+        if (scope.isWrittenInTransaction(entityName)) {
+            //neither shadow nor publish uncommitted state
+            return session.byId(getEntityClass()).with(mode).load(id);
+        }
+        EntityCacheKey key = new EntityCacheKey(scope.getFactoryId(), entityName, id);
+        if (mode.isGetEnabled()) {
+            EntitySnapshot snapshot = cache.get(key);
+            if (snapshot != null) {
+                return (T) snapshot.restore(cm, session);
+            }
+        }
+        long sequence = scope.currentSequence();
+        T entity = session.byId(getEntityClass()).with(mode).load(id);
+        if (entity != null && mode.isPutEnabled()) {
+            cache.put(key, EntitySnapshot.capture(entity, cm, session), timeToLive);
+            if (scope.isEvictedAfter(entityName, sequence)) {
+                //an eviction raced with loading, drop what might be stale
+                cache.evict(key);
+            }
+        }
+        return entity;
+    }
+
+    /**
+     * Evict entities from near cache and regions read through by any DAO of this entity, and invalidate row counts of
+     * finders that read tables of this entity. Both are done now and again after transaction completes, if there is
+     * transaction synchronization such as Spring managed transaction, so that state read by other sessions before
+     * commit is not kept in cache. Nothing is done if neither entities nor row counts are cached.
+     *
+     * @param ids IDs of entities to evict, null to evict all entities.
+     */
+    protected void evictCache(Collection<? extends Serializable> ids) {
+        CacheScope scope = getCacheScope();
+        String entityName = sessionFactory.getClassMetadata(getEntityClass()).getEntityName();
+        if (scope.isRowCountsEnabled()) {
+            EntityPersister persister = ((SessionFactoryImplementor) sessionFactory).getMetamodel()
+                .entityPersister(entityName);
+            scope.written(Arrays.asList(persister.getQuerySpaces()));
+        }
+        if (nearCache == null && scope.getRegions(entityName).isEmpty()) {
+            return;
+        }
+        doEvictCache(ids);
+        scope.writtenInTransaction(this, entityName, ids);
+    }
+
+    /**
+     * Evict entities from near cache and regions read through by any DAO of this entity now.
+     *
+     * @param ids IDs of entities to evict, null to evict all entities.
+     */
+    void doEvictCache(Collection<? extends Serializable> ids) {
+        String entityName = sessionFactory.getClassMetadata(getEntityClass()).getEntityName();
+        CacheScope scope = getCacheScope();
+        scope.evicted(entityName);
+        Set<String> regions = scope.getRegions(entityName);
+        List<Cache<EntityCacheKey, EntitySnapshot>> caches = new ArrayList<>(regions.size() + 1);
+        Cache<EntityCacheKey, EntitySnapshot> cache = nearCache;
+        if (cache != null) {
+            caches.add(cache);
+        }
+        for (String region : regions) {
+            caches.add(cacheProvider.getCache(region));
+        }
+        for (Cache<EntityCacheKey, EntitySnapshot> c : caches) {
+            if (ids == null) {
+                c.clear();
+                continue;
+            }
+            for (Serializable id : ids) {
+                c.evict(new EntityCacheKey(scope.getFactoryId(), entityName, id));
+            }
+        }
+    }
+
+    /**
+     * Set maximum number of entities in near cache of {@link #getCached(java.io.Serializable)}, 0 to disable near
+     * cache.<BR>
+     * Near cache keeps immutable snapshots of entities, and is invalidated by writes through this DAO. Changes made
+     * by other means, such as other DAO or application, are visible after time to live. Entity that has collection
+     * could not be cached.
+     *
+     * @param maximumSize maximum number of entities, 0 by default.
+     *
+     * @throws IllegalStateException if entity could not be cached.
+     */
+    public void setNearCacheSize(int maximumSize) {
+        Assert.isTrue(maximumSize >= 0, "near cache size must not be negative");
+        this.nearCacheSize = maximumSize;
+        checkNearCacheSupported();
+        resetNearCache();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalStateException if near cache is enabled but entity could not be cached.
+     */
+    @Resource
+    @Override
+    public void setSessionFactory(SessionFactory sessionFactory) {
+        super.setSessionFactory(sessionFactory);
+        checkNearCacheSupported();
+    }
+
+    private void checkNearCacheSupported() {
+        if (nearCacheSize == 0 || sessionFactory == null) {
+            return;
+        }
+        ClassMetadata cm = sessionFactory.getClassMetadata(getEntityClass());
+        if (!EntitySnapshot.isSupported(cm)) {
+            throw new IllegalStateException("near cache is not supported by entity that has collection, association"
+                                            + " in component or any type: " + cm.getEntityName());
+        }
+    }
+
+    /**
+     * Set time to live of entities in near cache.
+     *
+     * @param timeToLive time to live in milliseconds, 0 for never expire.
+     */
+    public void setNearCacheTimeToLive(long timeToLive) {
+        Assert.isTrue(timeToLive >= 0, "time to live must not be negative");
+        this.nearCacheTimeToLive = timeToLive;
+        resetNearCache();
+    }
+
+    private void resetNearCache() {
+        nearCache = (nearCacheSize > 0)
+                    ? new LocalCache<>(getEntityClass().getName(), nearCacheSize, nearCacheTimeToLive)
+                    : null;
+    }
+
+    /**
+     * Get hit and miss statistics of near cache.
+     *
+     * @return statistics of near cache, {@link CacheStatistics#EMPTY} if disabled.
+     */
+    public CacheStatistics getNearCacheStatistics() {
+        Cache<EntityCacheKey, EntitySnapshot> cache = nearCache;
+        return (cache == null) ? CacheStatistics.EMPTY : cache.getStatistics();
+    }
+
+    /**
+     * Get entity from persistence context of session without querying.
+     *
+     * @param session session to look up
+     * @param cm      metadata of entity class
+     * @param id      primary key of entity
+     * <p>
+     * @return entity in session, null if absent.
+     */
+    private Object getFromSession(Session session, ClassMetadata cm, ID id) {
+        SharedSessionContractImplementor implementor = (SharedSessionContractImplementor) session;
+        EntityPersister persister = implementor.getFactory().getMetamodel().entityPersister(cm.getEntityName());
+        return implementor.getPersistenceContext().getEntity(implementor.generateEntityKey(id, persister));
+    }
+
+    /**
+     * Get objects by IDs, in the order of given IDs. IDs not found are skipped.<BR>
+     * Objects already in session are resolved without querying, the rest are loaded by {@code IN} lists of at most
+     * {@link #inListSize}, instead of one query per ID.
+     *
+     * @param ids primary keys to get.
+     * <p>
+     * @return list of found objects.
+     */
+    @Transactional(readOnly = true)
+    public List<T> getAll(Collection<ID> ids) {
+        List<T> result = new ArrayList<>();
+        if (ids == null || ids.isEmpty()) {
+            return result;
+        }
+        for (T entity : multiLoad(new ArrayList<>(ids))) {
+            if (entity != null) {
+                result.add(entity);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get objects by IDs as a map, iterated in the order of given IDs. IDs not found are absent from map.
+     *
+     * @param ids primary keys to get.
+     * <p>
+     * @return map from ID to found object.
+     *
+     * @see #getAll(java.util.Collection)
+     */
+    @Transactional(readOnly = true)
+    public Map<ID, T> getMap(Collection<ID> ids) {
+        Map<ID, T> result = new LinkedHashMap<>();
+        if (ids == null || ids.isEmpty()) {
+            return result;
+        }
+        List<ID> idList = new ArrayList<>(ids);
+        List<T> entities = multiLoad(idList);
+        for (int i = 0; i < idList.size(); i++) {
+            if (entities.get(i) != null) {
+                result.put(idList.get(i), entities.get(i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Load objects positional to given IDs, with null for IDs not found.
+     *
+     * @param ids primary keys to load.
+     * <p>
+     * @return list of objects that has the same size as IDs.
+     */
+    private List<T> multiLoad(List<ID> ids) {
+        Timer timer = startTimer();
+        try {
+            List<T> entities = getSession().byMultipleIds(getEntityClass())
+                .enableSessionCheck(true)
+                .enableOrderedReturn(true)
+                .withBatchSize(inListSize)
+                .multiLoad(ids);
+            int loaded = 0;
+            for (T entity : entities) {
+                if (entity != null) {
+                    loaded++;
+                }
+            }
+            timer.stop("getAll", loaded, ids.size() + " ids");
+            return entities;
+        } finally {
+            timer.stopIfFailed("getAll", ids.size() + " ids");
+        }
+    }
+
+    /**
+     * List result of criteria, and record it as given operation.
+     *
+     * @param operation name of operation
+     * @param criteria  criteria to query
+     * <p>
+     * @return list of matched records.
+     */
+    private List list(String operation, Criteria criteria) {
+        Timer timer = startTimer();
+        try {
+            List list = criteria.list();
+            timer.stop(operation, list.size(), criteria);
+            return list;
+        } finally {
+            timer.stopIfFailed(operation, criteria);
+        }
+    }
+
     /**
      * Query for list of matched object by given properties.
      *
@@ -67,8 +457,22 @@ public abstract class HibernateBaseDao<T, ID extends Serializable> extends Hiber
      */
     @Transactional(readOnly = true)
     protected List<T> findByProperty(String property, Object value) {
+        return findByProperty(property, value, null);
+    }
+
+    /**
+     * Query for list of matched object by given properties, with query cache of given policy.
+     *
+     * @param property name of property
+     * @param value    match for value
+     * @param policy   cache policy, null for not cached.
+     * <p>
+     * @return A list of record that their property match value.
+     */
+    @Transactional(readOnly = true)
+    protected List<T> findByProperty(String property, Object value, CachePolicy policy) {
         Assert.hasText(property);
-        return createCriteria(Restrictions.eq(property, value)).list();
+        return list("findByProperty", createCriteria(policy, Restrictions.eq(property, value)));
     }
 
     /**
@@ -84,7 +488,7 @@ public abstract class HibernateBaseDao<T, ID extends Serializable> extends Hiber
     @Transactional(readOnly = true)
     protected List<T> startsWith(String property, String value) {
         Assert.hasText(property);
-        return createCriteria(Restrictions.like(property, value + "%")).list();
+        return list("startsWith", createCriteria(Restrictions.like(property, value + "%")));
     }
 
     /**
@@ -99,7 +503,7 @@ public abstract class HibernateBaseDao<T, ID extends Serializable> extends Hiber
     @Transactional(readOnly = true)
     protected List<T> contains(String property, String value) {
         Assert.hasText(property);
-        return createCriteria(Restrictions.like(property, "%" + value + "%")).list();
+        return list("contains", createCriteria(Restrictions.like(property, "%" + value + "%")));
     }
 
     /**
@@ -114,7 +518,7 @@ public abstract class HibernateBaseDao<T, ID extends Serializable> extends Hiber
     @Transactional(readOnly = true)
     protected List<T> endsWith(String property, String value) {
         Assert.hasText(property);
-        return createCriteria(Restrictions.like(property, "%" + value)).list();
+        return list("endsWith", createCriteria(Restrictions.like(property, "%" + value)));
     }
 
     /**
@@ -127,9 +531,31 @@ public abstract class HibernateBaseDao<T, ID extends Serializable> extends Hiber
      */
     @Transactional(readOnly = true)
     protected T findUniqueByProperty(String property, Object value) {
+        return findUniqueByProperty(property, value, null);
+    }
+
+    /**
+     * Query for unique object of matched by given criteria, with query cache of given policy.
+     *
+     * @param property name of property
+     * @param value    match for value
+     * @param policy   cache policy, null for not cached.
+     * <p>
+     * @return An record that its property match value.
+     */
+    @Transactional(readOnly = true)
+    protected T findUniqueByProperty(String property, Object value, CachePolicy policy) {
         Assert.hasText(property);
         Assert.notNull(value);
-        return (T) createCriteria(Restrictions.eq(property, value)).uniqueResult();
+        Timer timer = startTimer();
+        Criteria criteria = createCriteria(policy, Restrictions.eq(property, value));
+        try {
+            T entity = (T) criteria.uniqueResult();
+            timer.stop("findUniqueByProperty", (entity == null) ? 0 : 1, criteria);
+            return entity;
+        } finally {
+            timer.stopIfFailed("findUniqueByProperty", criteria);
+        }
     }
 
     /**
@@ -144,9 +570,15 @@ public abstract class HibernateBaseDao<T, ID extends Serializable> extends Hiber
     protected int countByProperty(String property, Object value) {
         Assert.hasText(property);
         Assert.notNull(value);
-        return ((Number) (createCriteria(
-                          Restrictions.eq(property, value)).setProjection(
-                          Projections.rowCount()).uniqueResult())).intValue();
+        Timer timer = startTimer();
+        Criteria criteria = createCriteria(Restrictions.eq(property, value)).setProjection(Projections.rowCount());
+        try {
+            int count = ((Number) criteria.uniqueResult()).intValue();
+            timer.stop("countByProperty", -1, criteria);
+            return count;
+        } finally {
+            timer.stopIfFailed("countByProperty", criteria);
+        }
     }
 
     /**
@@ -158,7 +590,7 @@ public abstract class HibernateBaseDao<T, ID extends Serializable> extends Hiber
      */
     @Transactional(readOnly = true)
     protected List findByCriteria(Criterion... criterion) {
-        return createCriteria(criterion).list();
+        return list("findByCriteria", createCriteria(criterion));
     }
 
     /**
@@ -172,10 +604,91 @@ public abstract class HibernateBaseDao<T, ID extends Serializable> extends Hiber
     public T updateByUpdater(Updater<T> updater) {
         ClassMetadata cm = sessionFactory.getClassMetadata(
             getEntityClass());
+        Timer timer = startTimer();
+        T bean = updater.getBean();
+        Serializable id = cm.getIdentifier(bean);
+        try {
+            T po = (T) getSession().get(getEntityClass(), id);
+            updaterCopyToPersistentObject(updater, po, cm);
+            evictCache(Collections.singleton(id));
+            timer.stop("updateByUpdater", 1, id);
+            return po;
+        } finally {
+            timer.stopIfFailed("updateByUpdater", id);
+        }
+    }
+
+    /**
+     * To update entity table by bean updater with a single HQL, without loading the persistent object.<BR>
+     * Properties to update are decided by updater the same as {@link #updateByUpdater(Updater)}, collections are
+     * not updatable this way. Version of versioned entity is incremented, and checked against bean if
+     * {@link Updater#isVersionCheck()}.
+     *
+     * @param updater The updater.
+     * <p>
+     * @return number of records updated, 0 if nothing to update or version check fails.
+     */
+    @Transactional(propagation = Propagation.REQUIRED)
+    public int updateByUpdaterDirectly(Updater<T> updater) {
+        ClassMetadata cm = sessionFactory.getClassMetadata(getEntityClass());
         T bean = updater.getBean();
-        T po = (T) getSession().get(getEntityClass(), cm.getIdentifier(bean));
-        updaterCopyToPersistentObject(updater, po, cm);
-        return po;
+        Serializable id = cm.getIdentifier(bean);
+        Assert.notNull(id, "identifier of bean is required");
+        if (updater.isVersionCheck() && !cm.isVersioned()) {
+            throw new IllegalArgumentException("entity is not versioned: " + cm.getEntityName());
+        }
+        String[] propNames = cm.getPropertyNames();
+        Type[] propTypes = cm.getPropertyTypes();
+        int versionIndex = cm.isVersioned() ? cm.getVersionProperty() : -1;
+
+        StringBuilder hql = new StringBuilder(cm.isVersioned() ? "update versioned " : "update ")
+            .append(cm.getEntityName()).append(" set ");
+        EntityCopyPlan plan = getCopyPlan(cm);
+        List<Integer> indexes = new ArrayList<>();
+        List<Object> values = new ArrayList<>();
+        for (int i = 0; i < plan.size(); i++) {
+            int index = plan.getPropertyIndex(i);
+            if (index == versionIndex || propTypes[index].isCollectionType()) {
+                continue;
+            }
+            Object value = plan.get(i, bean);
+            if (!updater.isUpdate(plan.getName(i), value)) {
+                continue;
+            }
+            hql.append(indexes.isEmpty() ? "" : ", ")
+                .append(plan.getName(i)).append(" = :").append(PROPERTY_PREFIX).append(index);
+            indexes.add(index);
+            values.add(value);
+        }
+        if (indexes.isEmpty()) {
+            return 0;
+        }
+        hql.append(" where ").append(cm.getIdentifierPropertyName()).append(" = :").append(ID);
+        if (updater.isVersionCheck()) {
+            hql.append(" and ").append(propNames[versionIndex]).append(" = :").append(VERSION);
+        }
+
+        Query query = getSession().createQuery(hql.toString());
+        for (int i = 0; i < indexes.size(); i++) {
+            int index = indexes.get(i);
+            query.setParameter(PROPERTY_PREFIX + index, values.get(i), propTypes[index]);
+        }
+        query.setParameter(ID, id, cm.getIdentifierType());
+        if (updater.isVersionCheck()) {
+            query.setParameter(VERSION, cm.getVersion(bean), propTypes[versionIndex]);
+        }
+        Timer timer = startTimer();
+        int updated;
+        try {
+            updated = query.executeUpdate();
+            timer.stop("updateByUpdaterDirectly", updated, hql);
+        } finally {
+            timer.stopIfFailed("updateByUpdaterDirectly", hql);
+        }
+        if (updated > 0) {
+            evictCache(Collections.singleton(id));
+        }
+        return updated;
     }
 
     /**
@@ -185,29 +698,40 @@ public abstract class HibernateBaseDao<T, ID extends Serializable> extends Hiber
      * @param po
      */
     private void updaterCopyToPersistentObject(Updater<T> updater, T po, ClassMetadata cm) {
-        String[] propNames = cm.getPropertyNames();
-        String identifierName = cm.getIdentifierPropertyName();
+        EntityCopyPlan plan = getCopyPlan(cm);
         T bean = updater.getBean();
         Object value;
-        for (String propName : propNames) {
-            if (propName.equals(identifierName)) {
-                continue;
-            }
+        for (int i = 0; i < plan.size(); i++) {
             try {
-                value = BeanUtils.getSimpleProperty(bean,
-                                                    propName);
-                if (!updater.isUpdate(propName, value)) {
+                value = plan.get(i, bean);
+                if (!updater.isUpdate(plan.getName(i), value)) {
                     continue;
                 }
-                cm.setPropertyValue(po, propName, value);
-            } catch (IllegalArgumentException | SecurityException | IllegalAccessException | InvocationTargetException | NoSuchMethodException | HibernateException e) {
+                plan.set(i, po, value);
+            } catch (RuntimeException e) {
                 throw new RuntimeException(
                     "copy property to persistent object failed: '"
-                    + propName + "'", e);
+                    + plan.getName(i) + "'", e);
             }
         }
     }
 
+    /**
+     * Get copy plan of entity class, which is built once.
+     *
+     * @param cm metadata of entity class
+     * <p>
+     * @return copy plan of entity class.
+     */
+    private EntityCopyPlan getCopyPlan(ClassMetadata cm) {
+        EntityCopyPlan plan = copyPlan;
+        if (plan == null) {
+            plan = EntityCopyPlan.build(getEntityClass(), cm);
+            copyPlan = plan;
+        }
+        return plan;
+    }
+
     /**
      * Create a criteria to filter.
      *
@@ -222,6 +746,34 @@ public abstract class HibernateBaseDao<T, ID extends Serializable> extends Hiber
         return criteria;
     }
 
+    /**
+     * Create a criteria to filter, with query cache of given policy.
+     *
+     * @param policy     cache policy, null for not cached.
+     * @param criterions restrictions of criteria.
+     * <p>
+     * @return AN criteria object.
+     */
+    protected Criteria createCriteria(CachePolicy policy, Criterion... criterions) {
+        Criteria criteria = createCriteria(criterions);
+        return (policy == null) ? criteria : policy.applyTo(criteria);
+    }
+
+    /**
+     * Create a paginated criteria specification to filter.
+     *
+     * @param criterions restrictions of specification.
+     * <p>
+     * @return A specification object.
+     */
+    protected PageCriteria createPageCriteria(Criterion... criterions) {
+        PageCriteria spec = PageCriteria.forClass(getEntityClass());
+        for (Criterion c : criterions) {
+            spec.add(c);
+        }
+        return spec;
+    }
+
     /**
      * This method could used for reflection in later funtionality.
      *
@@ -239,7 +791,7 @@ public abstract class HibernateBaseDao<T, ID extends Serializable> extends Hiber
      */
     @Transactional(readOnly = true)
     public Pagination getPage(int pageNo, int pageSize) {
-        return findByCriteria(this.createCriteria(), pageNo, pageSize);
+        return findByCriteria(this.createPageCriteria(), pageNo, pageSize);
     }
 
     /**
@@ -252,10 +804,95 @@ public abstract class HibernateBaseDao<T, ID extends Serializable> extends Hiber
      * @return Bean with ID probably filled.
      */
     public T save(T bean) {
-        getSession().save(bean);
+        Timer timer = startTimer();
+        Serializable id;
+        try {
+            id = getSession().save(bean);
+            timer.stop("save", 1, id);
+        } finally {
+            timer.stopIfFailed("save", bean);
+        }
+        evictCache(Collections.singleton(id));
         return bean;
     }
 
+    /**
+     * Save beans in batches. Session is flushed and cleared every {@code batchSize} beans, so that memory stays flat
+     * and inserts are sent together as JDBC batch if {@code hibernate.jdbc.batch_size} is configured.<BR>
+     * Beans are detached after saving, do not save in a session that has other unflushed changes.
+     *
+     * @param beans     Beans to be persisted.
+     * @param batchSize number of beans in a batch, should be equal to JDBC batch size.
+     *
+     * @return number of beans saved.
+     */
+    public int saveAll(Iterable<T> beans, int batchSize) {
+        Assert.isTrue(batchSize > 0, "batch size must be positive");
+        Timer timer = startTimer();
+        Session session = getSession();
+        List<Serializable> ids = new ArrayList<>();
+        int count = 0;
+        try {
+            for (T bean : beans) {
+                ids.add(session.save(bean));
+                if (++count % batchSize == 0) {
+                    session.flush();
+                    session.clear();
+                }
+            }
+            session.flush();
+            session.clear();
+            timer.stop("saveAll", count, count + " beans");
+        } finally {
+            timer.stopIfFailed("saveAll", count + " beans");
+        }
+        evictCache(ids);
+        return count;
+    }
+
+    /**
+     * Delete objects by IDs with bulk HQL, without loading them.<BR>
+     * IDs are split into {@code IN} lists of at most {@link #inListSize}. Bulk delete does not cascade, and does not
+     * affect objects already loaded in session.
+     *
+     * @param ids IDs of objects to be deleted.
+     *
+     * @return number of records deleted.
+     */
+    public int deleteAllByIds(Collection<ID> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        ClassMetadata cm = sessionFactory.getClassMetadata(getEntityClass());
+        String hql = "delete from " + cm.getEntityName() + " where " + cm.getIdentifierPropertyName()
+                     + " in (:" + IDS + ")";
+        List<ID> idList = new ArrayList<>(ids);
+        Timer timer = startTimer();
+        int deleted = 0;
+        try {
+            for (int i = 0; i < idList.size(); i += inListSize) {
+                deleted += getSession().createQuery(hql)
+                    .setParameterList(IDS, idList.subList(i, Math.min(i + inListSize, idList.size())))
+                    .executeUpdate();
+            }
+            timer.stop("deleteAllByIds", deleted, hql);
+        } finally {
+            timer.stopIfFailed("deleteAllByIds", hql);
+        }
+        evictCache(idList);
+        return deleted;
+    }
+
+    /**
+     * Set maximum number of identifiers in one {@code IN} list.
+     *
+     * @param inListSize should be less than parameter limit of database.
+     */
+    public void setInListSize(int inListSize) {
+        Assert.isTrue(inListSize > 0, "IN list size must be positive");
+        this.inListSize = inListSize;
+    }
+
     /**
      * Delete object by ID.
      *
@@ -277,7 +914,30 @@ public abstract class HibernateBaseDao<T, ID extends Serializable> extends Hiber
      */
     public T delete(T bean) {
         Assert.notNull(bean);
-        getSession().delete(bean);
+        Serializable id = sessionFactory.getClassMetadata(getEntityClass()).getIdentifier(bean);
+        Timer timer = startTimer();
+        try {
+            getSession().delete(bean);
+            timer.stop("delete", 1, id);
+        } finally {
+            timer.stopIfFailed("delete", id);
+        }
+        evictCache(Collections.singleton(id));
         return bean;
     }
+
+    /**
+     * Execute bulk update or delete HQL of finder, and evict all entities of this DAO from cache, as affected records
+     * are unknown.
+     *
+     * @param finder Finder that contains update or delete HQL.
+     * <p>
+     * @return number of records affected.
+     */
+    @Override
+    protected int bulkUpdate(Finder finder) {
+        int updated = super.bulkUpdate(finder);
+        evictCache(null);
+        return updated;
+    }
 }
@@ -1,22 +1,57 @@
 package ml.rugal.sshcommon.hibernate;
 
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.annotation.Resource;
 
+import ml.rugal.sshcommon.cache.Cache;
+import ml.rugal.sshcommon.cache.CacheProvider;
+import ml.rugal.sshcommon.cache.LocalCacheProvider;
+import ml.rugal.sshcommon.hibernate.metrics.DaoMetrics;
+import ml.rugal.sshcommon.hibernate.metrics.DaoMetrics.Timer;
+import ml.rugal.sshcommon.page.CursorPagination;
 import ml.rugal.sshcommon.page.Pagination;
+import ml.rugal.sshcommon.page.SimplePage;
+import ml.rugal.sshcommon.page.SimplePage.CountMode;
 import ml.rugal.sshcommon.util.BeanUtils;
+import org.hibernate.CacheMode;
 import org.hibernate.Criteria;
+import org.hibernate.FlushMode;
 import org.hibernate.Query;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
 import org.hibernate.criterion.CriteriaSpecification;
 import org.hibernate.criterion.Projection;
 import org.hibernate.criterion.Projections;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.internal.CriteriaImpl;
 import org.hibernate.transform.ResultTransformer;
 import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
 
 /**
  *
@@ -30,11 +65,102 @@ public abstract class HibernateSimpleDao {
 
     protected SessionFactory sessionFactory;
 
+    /**
+     * Default JDBC fetch size for scrolling.
+     */
+    public static final int DEFAULT_FETCH_SIZE = 1000;
+
+    /**
+     * Executor for asynchronous queries, use a bounded pool shared by DAOs if not set, since queries block on JDBC
+     * and should not occupy the common fork join pool.
+     */
+    protected Executor executor;
+
+    /**
+     * Maximum number of threads of default executor for asynchronous queries.
+     */
+    public static final int DEFAULT_ASYNC_POOL_SIZE = 8;
+
+    /**
+     * Maximum number of queued queries of default executor, further queries run in the calling thread.
+     */
+    public static final int DEFAULT_ASYNC_QUEUE_SIZE = 1024;
+
+    /**
+     * Provider of application level caches, use {@link LocalCacheProvider#getDefault()} if not set. Keys of entries
+     * carry identifier of session factory, thus a provider could be shared by DAOs of different session factories.
+     */
+    protected CacheProvider cacheProvider = LocalCacheProvider.getDefault();
+
+    private volatile CacheScope cacheScope;
+
+    /**
+     * Cache region of row counts of finders.
+     */
+    public static final String ROW_COUNT_REGION = HibernateSimpleDao.class.getName() + ".rowCount";
+
+    /**
+     * Time to live of cached row counts in milliseconds, 0 for not cached.
+     */
+    protected long countCacheTimeToLive = 0;
+
+    /**
+     * Registry of operation metrics, nothing is recorded if not set.
+     */
+    protected DaoMetrics metrics;
+
+    private String metricsCategory;
+
+    /**
+     * Suffix of count query of a paginated operation.
+     */
+    protected static final String COUNT = ".count";
+
+    /**
+     * Suffix of list query of a paginated operation.
+     */
+    protected static final String LIST = ".list";
+
+    /**
+     * Suffix of count of a paginated operation, that is served from row count cache.
+     */
+    protected static final String CACHED_COUNT = ".cachedCount";
+
+    private static final String FIND_PAGE_COUNT = "findPage" + COUNT;
+
+    private static final String FIND_PAGE_CACHED_COUNT = "findPage" + CACHED_COUNT;
+
+    private static final String FIND_PAGE_LIST = "findPage" + LIST;
+
+    private static final String FIND_ASYNC_COUNT = "findAsync" + COUNT;
+
+    private static final String FIND_ASYNC_CACHED_COUNT = "findAsync" + CACHED_COUNT;
+
+    private static final String FIND_ASYNC_LIST = "findAsync" + LIST;
+
+    private static final String FIND_BY_CRITERIA_COUNT = "findByCriteria" + COUNT;
+
+    private static final String FIND_BY_CRITERIA_LIST = "findByCriteria" + LIST;
+
     /**
      * Hibernate ordering entry.
      */
     protected static final String ORDER_ENTRIES = "orderEntries";
 
+    /**
+     * Resolved once, since reflection lookup is too expensive for every paged query.
+     */
+    private static final Field ORDER_ENTRIES_FIELD = findOrderEntriesField();
+
+    private static Field findOrderEntriesField() {
+        Field field = ReflectionUtils.findField(CriteriaImpl.class, ORDER_ENTRIES);
+        if (field == null) {
+            throw new IllegalStateException("cannot find '" + ORDER_ENTRIES + "' from CriteriaImpl");
+        }
+        ReflectionUtils.makeAccessible(field);
+        return field;
+    }
+
     /**
      * Generate HQL with properties set.
      *
@@ -44,7 +170,14 @@ public abstract class HibernateSimpleDao {
      * @return a list of matched record with original object type.
      */
     protected List find(String hql, Object... values) {
-        return createQuery(hql, values).list();
+        Timer timer = startTimer();
+        try {
+            List list = createQuery(hql, values).list();
+            timer.stop("find", list.size(), hql);
+            return list;
+        } finally {
+            timer.stopIfFailed("find", hql);
+        }
     }
 
     /**
@@ -56,7 +189,14 @@ public abstract class HibernateSimpleDao {
      * @return Object matched record with original type.
      */
     protected Object findUnique(String hql, Object... values) {
-        return createQuery(hql, values).setMaxResults(1).uniqueResult();
+        Timer timer = startTimer();
+        try {
+            Object result = createQuery(hql, values).setMaxResults(1).uniqueResult();
+            timer.stop("findUnique", (result == null) ? 0 : 1, hql);
+            return result;
+        } finally {
+            timer.stopIfFailed("findUnique", hql);
+        }
     }
 
     /**
@@ -69,22 +209,260 @@ public abstract class HibernateSimpleDao {
      * @return A page which contain criteria matched object.
      */
     protected Pagination find(Finder finder, int pageNo, int pageSize) {
-        int totalCount = countQueryResult(finder);
-        Pagination p = new Pagination(pageNo, pageSize, totalCount);
-        if (totalCount < 1) {
-            p.setList(new ArrayList());
+        Timer timer = startTimer();
+        try {
+            Integer cachedCount = (pageNo > 1) ? getCachedCount(finder) : null;
+            int totalCount = (cachedCount == null) ? countAndCache(getSession(), finder) : cachedCount;
+            timer.lap((cachedCount == null) ? FIND_PAGE_COUNT : FIND_PAGE_CACHED_COUNT, -1, finder);
+            Pagination p = new Pagination(pageNo, pageSize, totalCount);
+            if (totalCount < 1) {
+                p.setList(new ArrayList());
+                timer.stop("findPage", 0, finder);
+                return p;
+            }
+            p.setList(listQueryResult(getSession(), finder, p.getFirstResult(), p.getPageSize()));
+            timer.lap(FIND_PAGE_LIST, p.getList().size(), finder).stop("findPage", p.getList().size(), finder);
             return p;
+        } finally {
+            timer.stopIfFailed("findPage", finder);
         }
-        Query query = getSession().createQuery(finder.getOrigHql());
+    }
+
+    /**
+     * Use finder to get a specific page asynchronously.<BR>
+     * Count query and page query run at the same time, each in a separate read only session opened from session
+     * factory, thus latency is the slower one instead of sum of both. Finder should not be modified until the
+     * returned future is completed. Cached row count is reused the same as {@link #find(Finder, int, int)}.<BR>
+     * Sessions are closed before the future completes, thus returned entities are detached, accessing their
+     * uninitialized lazy associations throws {@link org.hibernate.LazyInitializationException}; fetch what is needed
+     * in the finder instead.
+     *
+     * @param finder   Finder to query
+     * @param pageNo   the page number to get, start from 1.
+     * @param pageSize the records or objects size which each page could have
+     * <p>
+     * @return future of a page which contain criteria matched object.
+     */
+    protected CompletableFuture<Pagination> findAsync(Finder finder, int pageNo, int pageSize) {
+        Pagination requested = new Pagination(pageNo, pageSize, CountMode.NONE);
+        int firstResult = requested.getFirstResult();
+        int maxResults = requested.getPageSize();
+        CompletableFuture<Integer> count = supplyAsync(() -> doInReadOnlySession(session -> {
+            Timer timer = startTimer();
+            try {
+                Integer cachedCount = (pageNo > 1) ? getCachedCount(finder) : null;
+                int totalCount = (cachedCount == null) ? countAndCache(session, finder) : cachedCount;
+                timer.stop((cachedCount == null) ? FIND_ASYNC_COUNT : FIND_ASYNC_CACHED_COUNT, -1, finder);
+                return totalCount;
+            } finally {
+                timer.stopIfFailed(FIND_ASYNC_COUNT, finder);
+            }
+        }));
+        CompletableFuture<List> page = supplyAsync(() -> doInReadOnlySession(session -> {
+            Timer timer = startTimer();
+            try {
+                List list = listQueryResult(session, finder, firstResult, maxResults);
+                timer.stop(FIND_ASYNC_LIST, list.size(), finder);
+                return list;
+            } finally {
+                timer.stopIfFailed(FIND_ASYNC_LIST, finder);
+            }
+        }));
+        return count.thenCombine(page, (totalCount, list) -> {
+            Pagination p = new Pagination(pageNo, pageSize, totalCount);
+            p.setList(totalCount < 1 ? new ArrayList() : list);
+            return p;
+        }).thenCompose(p -> {
+            if (p.getTotalCount() < 1 || p.getFirstResult() == firstResult) {
+                return CompletableFuture.completedFuture(p);
+            }
+            //requested page is beyond the last page, fetch the adjusted page again
+            return supplyAsync(() -> {
+                p.setList(doInReadOnlySession(session -> {
+                    Timer timer = startTimer();
+                    try {
+                        List list = listQueryResult(session, finder, p.getFirstResult(), p.getPageSize());
+                        timer.stop(FIND_ASYNC_LIST, list.size(), finder);
+                        return list;
+                    } finally {
+                        timer.stopIfFailed(FIND_ASYNC_LIST, finder);
+                    }
+                }));
+                return p;
+            });
+        });
+    }
+
+    private <R> CompletableFuture<R> supplyAsync(Supplier<R> supplier) {
+        Executor async = executor;
+        return CompletableFuture.supplyAsync(supplier, (async == null) ? DefaultAsyncExecutor.INSTANCE : async);
+    }
+
+    /**
+     * Holder of default executor, which is created on first asynchronous query.
+     */
+    private static final class DefaultAsyncExecutor {
+
+        private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+
+        private static final ThreadPoolExecutor INSTANCE = createExecutor();
+
+        private static ThreadPoolExecutor createExecutor() {
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                DEFAULT_ASYNC_POOL_SIZE, DEFAULT_ASYNC_POOL_SIZE, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(DEFAULT_ASYNC_QUEUE_SIZE), runnable -> {
+                Thread thread = new Thread(runnable, "dao-async-" + THREAD_NUMBER.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.CallerRunsPolicy());
+            pool.allowCoreThreadTimeOut(true);
+            return pool;
+        }
+    }
+
+    /**
+     * Do some work in a new read only session, which is closed after work is done.
+     *
+     * @param <R>  type of result
+     * @param work work to do with session
+     * <p>
+     * @return result of work.
+     */
+    protected <R> R doInReadOnlySession(Function<Session, R> work) {
+        Session session = sessionFactory.openSession();
+        try {
+            session.setDefaultReadOnly(true);
+            session.setHibernateFlushMode(FlushMode.MANUAL);
+            Transaction transaction = session.beginTransaction();
+            try {
+                return work.apply(session);
+            } finally {
+                //nothing to commit in a read only session
+                transaction.rollback();
+            }
+        } finally {
+            session.close();
+        }
+    }
+
+    /**
+     * Fetch a range of records of a finder.
+     *
+     * @param session     session to query in
+     * @param finder      Finder to query
+     * @param firstResult index of first record
+     * @param maxResults  maximum number of records
+     * <p>
+     * @return list of records.
+     */
+    private List listQueryResult(Session session, Finder finder, int firstResult, int maxResults) {
+        Query query = session.createQuery(finder.getOrigHql());
         finder.setParamsToQuery(query);
-        query.setFirstResult(p.getFirstResult());
-        query.setMaxResults(p.getPageSize());
-        if (finder.isCacheable()) {
-            query.setCacheable(true);
+        query.setFirstResult(firstResult);
+        query.setMaxResults(maxResults);
+        finder.setCacheToQuery(query);
+        return query.list();
+    }
+
+    /**
+     * Use finder to get a specific page, with total count obtained by given count mode.<BR>
+     * Unless in EXACT mode, no count query is executed, instead one more record is fetched to see if there are more
+     * records after this page.
+     *
+     * @param finder    Finder to query
+     * @param pageNo    the page number to get, start from 1.
+     * @param pageSize  the records or objects size which each page could have
+     * @param countMode how total count is obtained.
+     * <p>
+     * @return A page which contain criteria matched object.
+     */
+    protected Pagination find(Finder finder, int pageNo, int pageSize, CountMode countMode) {
+        if (countMode == CountMode.EXACT) {
+            return find(finder, pageNo, pageSize);
+        }
+        Timer timer = startTimer();
+        try {
+            Pagination p = new Pagination(pageNo, pageSize, countMode);
+            Query query = getSession().createQuery(finder.getOrigHql());
+            finder.setParamsToQuery(query);
+            query.setFirstResult(p.getFirstResult());
+            query.setMaxResults(p.getPageSize() + 1);
+            finder.setCacheToQuery(query);
+            int estimatedCount = (countMode == CountMode.ESTIMATED)
+                                 ? estimateQueryResult(finder)
+                                 : SimplePage.UNKNOWN_COUNT;
+            fillUncountedPage(p, query.list(), estimatedCount);
+            timer.stop("findPage", p.getList().size(), finder);
+            return p;
+        } finally {
+            timer.stopIfFailed("findPage", finder);
+        }
+    }
+
+    /**
+     * Use finder to get a page after given cursor, which is keyset pagination.<BR>
+     * Finder must declare its sort key by {@link Finder#setSortKey(java.lang.String)}, and the sort key value of last
+     * record is readable by its getter. Every page costs the same no matter how deep it is.
+     *
+     * @param finder   Finder to query, without {@code order by} clause.
+     * @param after    The cursor to fetch after, null or empty for the first page.
+     * @param pageSize the records or objects size which each page could have
+     * <p>
+     * @return A page which contain matched object and cursor of next page.
+     */
+    protected CursorPagination find(Finder finder, String after, int pageSize) {
+        Timer timer = startTimer();
+        try {
+            boolean hasCursor = StringUtils.hasText(after);
+            CursorPagination p = new CursorPagination(hasCursor ? after : null, pageSize);
+            Query query = getSession().createQuery(finder.getKeysetHql(hasCursor));
+            finder.setParamsToQuery(query);
+            if (hasCursor) {
+                query.setParameter(Finder.KEYSET_AFTER, CursorPagination.decodeCursor(after));
+            }
+            //fetch one more record to see if there is next page
+            query.setMaxResults(p.getPageSize() + 1);
+            finder.setCacheToQuery(query);
+            List list = query.list();
+            if (list.size() > p.getPageSize()) {
+                list = new ArrayList(list.subList(0, p.getPageSize()));
+                Object last = list.get(list.size() - 1);
+                p.setNextCursor(CursorPagination.encodeCursor(getSortKeyValue(last, finder.getSortKey())));
+            }
+            p.setList(list);
+            timer.stop("findCursor", list.size(), finder);
+            return p;
+        } finally {
+            timer.stopIfFailed("findCursor", finder);
+        }
+    }
+
+    /**
+     * Read sort key value from a record, by walking property path after alias, such as {@code customer.id} of
+     * {@code bean.customer.id}.
+     *
+     * @param record  The record that have sort key.
+     * @param sortKey sort key with alias, or a property without alias.
+     *
+     * @return value of sort key, null if any property on the path is null.
+     *
+     * @throws IllegalStateException if record is a projection row, of which sort key could not be located.
+     */
+    private Object getSortKeyValue(Object record, String sortKey) {
+        if (record instanceof Object[]) {
+            throw new IllegalStateException("Keyset pagination requires one object per row that has sort key "
+                                            + "property, projection is not supported: '" + sortKey + "'");
+        }
+        String[] path = StringUtils.delimitedListToStringArray(sortKey, ".");
+        try {
+            Object value = record;
+            for (int i = (path.length > 1) ? 1 : 0; i < path.length && value != null; i++) {
+                value = BeanUtils.getSimpleProperty(value, path[i]);
+            }
+            return value;
+        } catch (IllegalArgumentException | SecurityException | IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
+            throw new RuntimeException("read sort key from record failed: '" + sortKey + "'", e);
         }
-        List list = query.list();
-        p.setList(list);
-        return p;
     }
 
     /**
@@ -95,9 +473,119 @@ public abstract class HibernateSimpleDao {
      * @return A page which contain criteria matched object.
      */
     protected List find(Finder finder) {
-        Query query = finder.createQuery(getSession());
-        List list = query.list();
-        return list;
+        Timer timer = startTimer();
+        try {
+            List list = finder.createQuery(getSession()).list();
+            timer.stop("find", list.size(), finder);
+            return list;
+        } finally {
+            timer.stopIfFailed("find", finder);
+        }
+    }
+
+    /**
+     * Scroll result of finder with a forward only cursor, records are fetched from database by given fetch size.<BR>
+     * Results should be closed after use. Entities are kept in session as read only until session is cleared.
+     *
+     * @param finder    Finder to query
+     * @param fetchSize JDBC fetch size, some driver such like MySQL needs {@link Integer#MIN_VALUE} to stream.
+     * <p>
+     * @return scrollable results of finder.
+     */
+    protected ScrollableResults scroll(Finder finder, int fetchSize) {
+        Query query = getSession().createQuery(finder.getOrigHql());
+        finder.setParamsToQuery(query);
+        if (finder.getFirstResult() > 0) {
+            query.setFirstResult(finder.getFirstResult());
+        }
+        if (finder.getMaxResults() > 0) {
+            query.setMaxResults(finder.getMaxResults());
+        }
+        query.setFetchSize(fetchSize);
+        query.setReadOnly(true);
+        query.setCacheMode(CacheMode.IGNORE);
+        return query.scroll(ScrollMode.FORWARD_ONLY);
+    }
+
+    /**
+     * Stream result of finder with {@link #DEFAULT_FETCH_SIZE}.
+     *
+     * @param <R>    type of record
+     * @param finder Finder to query
+     * <p>
+     * @return stream of records.
+     *
+     * @see #stream(ml.rugal.sshcommon.hibernate.Finder, int)
+     */
+    protected <R> Stream<R> stream(Finder finder) {
+        return stream(finder, DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * Stream result of finder with a forward only cursor, for exporting large amount of records.<BR>
+     * Session is cleared every {@code fetchSize} records so memory stays flat no matter how many records are
+     * returned, thus do not stream in a session that has unflushed changes. Stream must be consumed in current
+     * transaction, and should be closed after use, such as by try-with-resources.
+     *
+     * @param <R>       type of record
+     * @param finder    Finder to query
+     * @param fetchSize JDBC fetch size and interval of clearing session, {@link Integer#MIN_VALUE} is passed to driver
+     *                  as is for MySQL to stream row by row, and session is then cleared every
+     *                  {@value #DEFAULT_FETCH_SIZE} records.
+     * <p>
+     * @return stream of records, multiple columns are returned as {@code Object[]}.
+     */
+    protected <R> Stream<R> stream(Finder finder, int fetchSize) {
+        Assert.isTrue(fetchSize > 0 || fetchSize == Integer.MIN_VALUE,
+                      "fetch size must be positive or Integer.MIN_VALUE");
+        int clearInterval = (fetchSize > 0) ? fetchSize : DEFAULT_FETCH_SIZE;
+        Session session = getSession();
+        ScrollableResults results = scroll(finder, fetchSize);
+        Spliterator<R> spliterator = new Spliterators.AbstractSpliterator<R>(Long.MAX_VALUE, Spliterator.ORDERED) {
+            private int count = 0;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super R> action) {
+                if (count > 0 && count % clearInterval == 0) {
+                    //detach records that are already consumed
+                    session.clear();
+                }
+                if (!results.next()) {
+                    return false;
+                }
+                count++;
+                Object[] row = results.get();
+                action.accept((R) (row.length == 1 ? row[0] : row));
+                return true;
+            }
+        };
+        return StreamSupport.stream(spliterator, false).onClose(results::close);
+    }
+
+    /**
+     * Execute bulk update or delete HQL of finder, such as {@code delete from Bean where ...}.<BR>
+     * Bulk operation does not cascade, and does not affect objects already loaded in session.
+     *
+     * @param finder Finder that contains update or delete HQL.
+     * <p>
+     * @return number of records affected.
+     */
+    protected int bulkUpdate(Finder finder) {
+        Query query = getSession().createQuery(finder.getOrigHql());
+        finder.setParamsToQuery(query);
+        Timer timer = startTimer();
+        int updated;
+        try {
+            updated = query.executeUpdate();
+            timer.stop("bulkUpdate", updated, finder);
+        } finally {
+            timer.stopIfFailed("bulkUpdate", finder);
+        }
+        CacheScope scope = getCacheScope();
+        if (scope.isRowCountsEnabled()) {
+            scope.written(getQuerySpaces(finder.getOrigHql()));
+        }
+        return updated;
     }
 
     /**
@@ -129,43 +617,192 @@ public abstract class HibernateSimpleDao {
      * @return A page which contain criteria matched object.
      */
     protected Pagination findByCriteria(Criteria crit, int pageNo, int pageSize) {
-        CriteriaImpl impl = (CriteriaImpl) crit;
-        // 先把Projection、ResultTransformer、OrderBy取出来,清空三者后再执行Count操作
-        Projection projection = impl.getProjection();
-        ResultTransformer transformer = impl.getResultTransformer();
-        List<CriteriaImpl.OrderEntry> orderEntries;
+        Timer timer = startTimer();
         try {
-            orderEntries = (List) BeanUtils.getFieldValue(impl, ORDER_ENTRIES);
-            BeanUtils.setFieldValue(impl, ORDER_ENTRIES, new ArrayList());
-        } catch (Exception e) {
-            throw new RuntimeException("cannot read/write 'orderEntries' from CriteriaImpl", e);
+            CriteriaImpl impl = (CriteriaImpl) crit;
+            // 先把Projection、ResultTransformer、OrderBy取出来,清空三者后再执行Count操作
+            Projection projection = impl.getProjection();
+            ResultTransformer transformer = impl.getResultTransformer();
+            List<CriteriaImpl.OrderEntry> orderEntries = (List) ReflectionUtils.getField(ORDER_ENTRIES_FIELD, impl);
+
+            //total count of this query, equivalent to select count(id) from table where ...
+            int totalCount;
+            ReflectionUtils.setField(ORDER_ENTRIES_FIELD, impl, new ArrayList());
+            try {
+                totalCount = ((Number) crit.setProjection(Projections.rowCount()).uniqueResult()).intValue();
+            } finally {
+                ReflectionUtils.setField(ORDER_ENTRIES_FIELD, impl, orderEntries);
+            }
+            timer.lap(FIND_BY_CRITERIA_COUNT, -1, crit);
+
+            // set projection for column.
+            crit.setProjection(projection);
+            if (projection == null) {
+                crit.setResultTransformer(CriteriaSpecification.ROOT_ENTITY);
+            }
+            if (transformer != null) {
+                crit.setResultTransformer(transformer);
+            }
+            Pagination p = new Pagination(pageNo, pageSize, totalCount);
+            if (totalCount < 1) {
+                p.setList(new ArrayList());
+                timer.stop("findByCriteria", 0, crit);
+                return p;
+            }
+            crit.setFirstResult(p.getFirstResult());
+            crit.setMaxResults(p.getPageSize());
+            p.setList(crit.list());
+            timer.lap(FIND_BY_CRITERIA_LIST, p.getList().size(), crit)
+                .stop("findByCriteria", p.getList().size(), crit);
+            return p;
+        } finally {
+            timer.stopIfFailed("findByCriteria", crit);
         }
+    }
 
-        //total count of this query, equivalent to select count(id) from table where ...
-        int totalCount = ((Number) crit.setProjection(Projections.rowCount()).uniqueResult()).intValue();
-        Pagination p = new Pagination(pageNo, pageSize, totalCount);
-        if (totalCount < 1) {
-            p.setList(new ArrayList());
+    /**
+     * Use given specification to query and get page.<BR>
+     * Count query and page query are built separately from the specification, thus ordering is never sent to count
+     * query and the specification is not mutated.
+     *
+     * @param spec     the given specification for query.
+     * @param pageNo   the page number to get, start from 1.
+     * @param pageSize the records or objects size which each page could have
+     * <p>
+     * @return A page which contain criteria matched object.
+     */
+    protected Pagination findByCriteria(PageCriteria spec, int pageNo, int pageSize) {
+        Timer timer = startTimer();
+        try {
+            Criteria countCriteria = spec.createCountCriteria(getSession());
+            int totalCount = ((Number) countCriteria.uniqueResult()).intValue();
+            timer.lap(FIND_BY_CRITERIA_COUNT, -1, countCriteria);
+            Pagination p = new Pagination(pageNo, pageSize, totalCount);
+            if (totalCount < 1) {
+                p.setList(new ArrayList());
+                timer.stop("findByCriteria", 0, countCriteria);
+                return p;
+            }
+            Criteria pageCriteria = spec.createPageCriteria(getSession(), p.getFirstResult(), p.getPageSize());
+            p.setList(pageCriteria.list());
+            timer.lap(FIND_BY_CRITERIA_LIST, p.getList().size(), pageCriteria)
+                .stop("findByCriteria", p.getList().size(), pageCriteria);
             return p;
+        } finally {
+            timer.stopIfFailed("findByCriteria", spec);
         }
+    }
 
-        // set projection for column.
-        crit.setProjection(projection);
-        if (projection == null) {
-            crit.setResultTransformer(CriteriaSpecification.ROOT_ENTITY);
+    /**
+     * Use given specification to query and get page, with total count obtained by given count mode.
+     *
+     * @param spec      the given specification for query.
+     * @param pageNo    the page number to get, start from 1.
+     * @param pageSize  the records or objects size which each page could have
+     * @param countMode how total count is obtained.
+     * <p>
+     * @return A page which contain criteria matched object.
+     */
+    protected Pagination findByCriteria(PageCriteria spec, int pageNo, int pageSize, CountMode countMode) {
+        if (countMode == CountMode.EXACT) {
+            return findByCriteria(spec, pageNo, pageSize);
+        }
+        Timer timer = startTimer();
+        try {
+            Pagination p = new Pagination(pageNo, pageSize, countMode);
+            Criteria crit = spec.createPageCriteria(getSession(), p.getFirstResult(), p.getPageSize() + 1);
+            int estimatedCount = (countMode == CountMode.ESTIMATED)
+                                 ? estimateCriteriaResult(crit)
+                                 : SimplePage.UNKNOWN_COUNT;
+            fillUncountedPage(p, crit.list(), estimatedCount);
+            timer.stop("findByCriteria", p.getList().size(), crit);
+            return p;
+        } finally {
+            timer.stopIfFailed("findByCriteria", spec);
         }
-        if (transformer != null) {
-            crit.setResultTransformer(transformer);
+    }
+
+    /**
+     * Use given criteria to query and get page, with total count obtained by given count mode.<BR>
+     * Unless in EXACT mode, no count query is executed, instead one more record is fetched to see if there are more
+     * records after this page.
+     *
+     * @param crit      the given criteria for query.
+     * @param pageNo    the page number to get, start from 1.
+     * @param pageSize  the records or objects size which each page could have
+     * @param countMode how total count is obtained.
+     * <p>
+     * @return A page which contain criteria matched object.
+     */
+    protected Pagination findByCriteria(Criteria crit, int pageNo, int pageSize, CountMode countMode) {
+        if (countMode == CountMode.EXACT) {
+            return findByCriteria(crit, pageNo, pageSize);
         }
+        Timer timer = startTimer();
         try {
-            BeanUtils.setFieldValue(impl, ORDER_ENTRIES, orderEntries);
-        } catch (Exception e) {
-            throw new RuntimeException("set 'orderEntries' to CriteriaImpl faild", e);
+            Pagination p = new Pagination(pageNo, pageSize, countMode);
+            int estimatedCount = (countMode == CountMode.ESTIMATED)
+                                 ? estimateCriteriaResult(crit)
+                                 : SimplePage.UNKNOWN_COUNT;
+            crit.setFirstResult(p.getFirstResult());
+            crit.setMaxResults(p.getPageSize() + 1);
+            fillUncountedPage(p, crit.list(), estimatedCount);
+            timer.stop("findByCriteria", p.getList().size(), crit);
+            return p;
+        } finally {
+            timer.stopIfFailed("findByCriteria", crit);
         }
-        crit.setFirstResult(p.getFirstResult());
-        crit.setMaxResults(p.getPageSize());
-        p.setList(crit.list());
-        return p;
+    }
+
+    /**
+     * Fill page with records fetched by {@code pageSize + 1}, and decide its total count.<BR>
+     * Total count is only exact if this is the last page that has records. Otherwise it is the estimated count if it
+     * is beyond fetched records, or {@link SimplePage#UNKNOWN_COUNT}, such as page requested is beyond the last page.
+     *
+     * @param p              The page to fill
+     * @param list           records fetched, at most one more than page size.
+     * @param estimatedCount estimated total count, or {@link SimplePage#UNKNOWN_COUNT}
+     */
+    private void fillUncountedPage(Pagination p, List list, int estimatedCount) {
+        boolean moreRecords = list.size() > p.getPageSize();
+        if (moreRecords) {
+            list = new ArrayList(list.subList(0, p.getPageSize()));
+        }
+        int fetchedCount = p.getFirstResult() + list.size();
+        int totalCount;
+        if (moreRecords) {
+            totalCount = (estimatedCount > fetchedCount) ? estimatedCount : SimplePage.UNKNOWN_COUNT;
+        } else {
+            //an empty page after the first one tells nothing about how many records there are
+            totalCount = (list.isEmpty() && p.getFirstResult() > 0) ? SimplePage.UNKNOWN_COUNT : fetchedCount;
+        }
+        p.setMoreRecords(moreRecords);
+        p.setTotalCount(totalCount);
+        p.setList(list);
+    }
+
+    /**
+     * Estimate row number of a finder without running exact count query. <BR>
+     * Override this method to provide database specific estimation, such like statistics from query plan.
+     *
+     * @param finder target object that contain HQL content to estimate.
+     * <p>
+     * @return estimated row number, or {@link SimplePage#UNKNOWN_COUNT} if unable to estimate.
+     */
+    protected int estimateQueryResult(Finder finder) {
+        return SimplePage.UNKNOWN_COUNT;
+    }
+
+    /**
+     * Estimate row number of a criteria without running exact count query. <BR>
+     * Override this method to provide database specific estimation, such like statistics from query plan.
+     *
+     * @param crit the given criteria to estimate.
+     * <p>
+     * @return estimated row number, or {@link SimplePage#UNKNOWN_COUNT} if unable to estimate.
+     */
+    protected int estimateCriteriaResult(Criteria crit) {
+        return SimplePage.UNKNOWN_COUNT;
     }
 
     /**
@@ -176,11 +813,82 @@ public abstract class HibernateSimpleDao {
      * @return row number in a result set.
      */
     protected int countQueryResult(Finder finder) {
-        Query query = getSession().createQuery(finder.getRowCountHql());
+        Timer timer = startTimer();
+        try {
+            int count = countQueryResult(getSession(), finder);
+            timer.stop("count", -1, finder);
+            return count;
+        } finally {
+            timer.stopIfFailed("count", finder);
+        }
+    }
+
+    /**
+     * Get cached row count, if {@link #setCountCacheTimeToLive(long)} is set.<BR>
+     * Cached row count is keyed by row count HQL and bound parameters, it is dropped once a table that count query
+     * reads is written through {@link HibernateBaseDao} or {@link #bulkUpdate(Finder)}.
+     *
+     * @param finder target object that contain HQL content to count.
+     * <p>
+     * @return valid cached row number, null if absent.
+     */
+    private Integer getCachedCount(Finder finder) {
+        if (countCacheTimeToLive == 0) {
+            return null;
+        }
+        Cache<Object, RowCount> cache = cacheProvider.getCache(ROW_COUNT_REGION);
+        CacheScope scope = getCacheScope();
+        RowCount cached = cache.get(RowCount.createKey(scope.getFactoryId(), finder));
+        return (cached != null && cached.isValid(scope)) ? cached.getCount() : null;
+    }
+
+    /**
+     * Count row number, and cache it if {@link #setCountCacheTimeToLive(long)} is set.
+     *
+     * @param session session to query in
+     * @param finder  target object that contain HQL content to count.
+     * <p>
+     * @return row number in a result set.
+     */
+    private int countAndCache(Session session, Finder finder) {
+        if (countCacheTimeToLive == 0) {
+            return countQueryResult(session, finder);
+        }
+        CacheScope scope = getCacheScope();
+        long sequence = scope.currentSequence();
+        int count = countQueryResult(session, finder);
+        cacheProvider.<Object, RowCount>getCache(ROW_COUNT_REGION).put(
+            RowCount.createKey(scope.getFactoryId(), finder),
+            new RowCount(count, sequence, getQuerySpaces(finder.getRowCountHql())), countCacheTimeToLive);
+        return count;
+    }
+
+    /**
+     * Get tables that HQL reads or writes, from query plan cached by session factory.
+     *
+     * @param hql HQL to analyze
+     * <p>
+     * @return query spaces of HQL.
+     */
+    private Set<Serializable> getQuerySpaces(String hql) {
+        return ((SessionFactoryImplementor) sessionFactory).getQueryPlanCache()
+            .getHQLQueryPlan(hql, false, Collections.emptyMap()).getQuerySpaces();
+    }
+
+    private int countQueryResult(Session session, Finder finder) {
+        Query query = session.createQuery(finder.getRowCountHql());
         finder.setParamsToQuery(query);
-        if (finder.isCacheable()) {
-            query.setCacheable(true);
+        if (finder.isRowCountByRows()) {
+            //one row per group or distinct tuple
+            int count = 0;
+            try (ScrollableResults results = query.scroll(ScrollMode.FORWARD_ONLY)) {
+                while (results.next()) {
+                    count++;
+                }
+            }
+            return count;
         }
+        finder.setCacheToQuery(query);
         return ((Number) query.iterate().next()).intValue();
     }
 
@@ -192,6 +900,96 @@ public abstract class HibernateSimpleDao {
     @Resource
     public void setSessionFactory(SessionFactory sessionFactory) {
         this.sessionFactory = sessionFactory;
+        this.cacheScope = null;
+        enableRowCounts();
+    }
+
+    /**
+     * Let DAOs of session factory record writes to query spaces, once row counts of this DAO are cached.
+     */
+    private void enableRowCounts() {
+        if (countCacheTimeToLive > 0 && sessionFactory != null) {
+            getCacheScope().enableRowCounts();
+        }
+    }
+
+    /**
+     * Get cache state shared by DAOs of session factory of this DAO.
+     *
+     * @return cache scope of session factory.
+     */
+    CacheScope getCacheScope() {
+        CacheScope scope = cacheScope;
+        if (scope == null) {
+            scope = CacheScope.of(sessionFactory);
+            cacheScope = scope;
+        }
+        return scope;
+    }
+
+    /**
+     * Set executor for asynchronous queries, which should be bounded by size of connection pool.
+     *
+     * @param executor The executor to run queries, null to use default executor of
+     *                 {@value #DEFAULT_ASYNC_POOL_SIZE} threads shared by DAOs.
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Set provider of application level caches.
+     *
+     * @param cacheProvider The provider of caches.
+     */
+    public void setCacheProvider(CacheProvider cacheProvider) {
+        Assert.notNull(cacheProvider, "cache provider is required");
+        this.cacheProvider = cacheProvider;
+    }
+
+    /**
+     * Set time to live of cached row counts, with which pages other than the first one of the same finder reuse row
+     * count instead of counting again. The first page always counts and refreshes cache.
+     *
+     * @param countCacheTimeToLive time to live in milliseconds, 0 for not cached, which is the default.
+     */
+    public void setCountCacheTimeToLive(long countCacheTimeToLive) {
+        Assert.isTrue(countCacheTimeToLive >= 0, "time to live must not be negative");
+        this.countCacheTimeToLive = countCacheTimeToLive;
+        enableRowCounts();
+    }
+
+    /**
+     * Set registry of operation metrics, which could be shared by many DAOs.
+     *
+     * @param metrics The registry to record into, null to stop recording.
+     */
+    public void setMetrics(DaoMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Start timer of an operation of this DAO.
+     *
+     * @return timer that records into metrics, or a no-op timer if metrics is not set.
+     */
+    protected Timer startTimer() {
+        DaoMetrics registry = metrics;
+        return (registry == null) ? DaoMetrics.start(null, null) : DaoMetrics.start(registry, getMetricsCategory());
+    }
+
+    /**
+     * Name that operations of this DAO are recorded under.
+     *
+     * @return simple name of DAO class by default.
+     */
+    protected String getMetricsCategory() {
+        String category = metricsCategory;
+        if (category == null) {
+            category = ClassUtils.getUserClass(getClass()).getSimpleName();
+            metricsCategory = category;
+        }
+        return category;
     }
 
     /**
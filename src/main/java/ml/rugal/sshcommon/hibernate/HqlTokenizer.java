@@ -0,0 +1,169 @@
+package ml.rugal.sshcommon.hibernate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ *
+ * A lightweight HQL tokenizer, which splits HQL into words, quoted literals and symbols.<BR>
+ * Each token remembers its position in original HQL and its parenthesis depth, so that clauses of outermost query
+ * could be located without being confused by subqueries, literals or property names such like {@code orderLine}.
+ *
+ * @author Rugal Bernstein
+ */
+final class HqlTokenizer {
+
+    private HqlTokenizer() {
+    }
+
+    /**
+     * Split HQL into tokens, whitespace is skipped.
+     *
+     * @param hql The HQL to tokenize
+     * <p>
+     * @return immutable list of tokens in order of appearance.
+     */
+    static List<Token> tokenize(String hql) {
+        List<Token> tokens = new ArrayList<>();
+        int depth = 0;
+        int length = hql.length();
+        int i = 0;
+        while (i < length) {
+            char ch = hql.charAt(i);
+            if (Character.isWhitespace(ch)) {
+                i++;
+            } else if (ch == '\'' || ch == '"' || ch == '`') {
+                int end = skipQuoted(hql, i, ch);
+                tokens.add(new Token(i, end, depth, Kind.QUOTED, null));
+                i = end;
+            } else if (isWordPart(ch) || ch == ':') {
+                int end = i + 1;
+                while (end < length && isWordPart(hql.charAt(end))) {
+                    end++;
+                }
+                tokens.add(new Token(i, end, depth, Kind.WORD, hql.substring(i, end).toLowerCase(Locale.ENGLISH)));
+                i = end;
+            } else if (ch == '(') {
+                tokens.add(new Token(i, i + 1, depth++, Kind.OPEN, null));
+                i++;
+            } else if (ch == ')') {
+                depth = depth > 0 ? depth - 1 : 0;
+                tokens.add(new Token(i, i + 1, depth, Kind.CLOSE, null));
+                i++;
+            } else {
+                tokens.add(new Token(i, i + 1, depth, Kind.SYMBOL, null));
+                i++;
+            }
+        }
+        return Collections.unmodifiableList(tokens);
+    }
+
+    /**
+     * Find the first keyword of outermost query.
+     *
+     * @param tokens  tokens of HQL
+     * @param keyword lower case keyword
+     * @param from    index of token to start search
+     * <p>
+     * @return index of matched token, or -1 if not found.
+     */
+    static int indexOfKeyword(List<Token> tokens, String keyword, int from) {
+        for (int i = from; i < tokens.size(); i++) {
+            Token token = tokens.get(i);
+            if (token.depth == 0 && token.is(keyword)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Find the first two-words clause of outermost query, such like {@code order by}.
+     *
+     * @param tokens tokens of HQL
+     * @param first  lower case first keyword
+     * @param second lower case second keyword
+     * @param from   index of token to start search
+     * <p>
+     * @return index of the first keyword, or -1 if not found.
+     */
+    static int indexOfClause(List<Token> tokens, String first, String second, int from) {
+        for (int i = indexOfKeyword(tokens, first, from); i >= 0; i = indexOfKeyword(tokens, first, i + 1)) {
+            if (i + 1 < tokens.size() && tokens.get(i + 1).is(second)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int skipQuoted(String hql, int start, char quote) {
+        int i = start + 1;
+        while (i < hql.length()) {
+            if (hql.charAt(i) == quote) {
+                //doubled quote is an escaped quote
+                if (i + 1 < hql.length() && hql.charAt(i + 1) == quote) {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        return hql.length();
+    }
+
+    private static boolean isWordPart(char ch) {
+        return Character.isJavaIdentifierPart(ch) || ch == '.';
+    }
+
+    static enum Kind {
+
+        WORD, QUOTED, OPEN, CLOSE, SYMBOL
+    }
+
+    static final class Token {
+
+        /**
+         * Start index in HQL, inclusive.
+         */
+        final int start;
+
+        /**
+         * End index in HQL, exclusive.
+         */
+        final int end;
+
+        /**
+         * Parenthesis depth, 0 for outermost query.
+         */
+        final int depth;
+
+        final Kind kind;
+
+        /**
+         * Lower case text of word, null for other kinds.
+         */
+        final String word;
+
+        private Token(int start, int end, int depth, Kind kind, String word) {
+            this.start = start;
+            this.end = end;
+            this.depth = depth;
+            this.kind = kind;
+            this.word = word;
+        }
+
+        /**
+         * Check if this token is given word, case insensitive.
+         *
+         * @param keyword lower case word
+         * <p>
+         * @return true if matched.
+         */
+        boolean is(String keyword) {
+            return kind == Kind.WORD && word.equals(keyword);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package ml.rugal.sshcommon.hibernate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.Criteria;
+import org.hibernate.Session;
+import org.hibernate.criterion.Criterion;
+import org.hibernate.criterion.Order;
+import org.hibernate.criterion.Projection;
+import org.hibernate.criterion.Projections;
+import org.hibernate.sql.JoinType;
+import org.hibernate.transform.ResultTransformer;
+
+/**
+ *
+ * Specification of a paginated criteria query.<BR>
+ * Different from {@link Criteria}, this class only records restrictions, aliases, orders and projection, from which a
+ * count query and a page query are built separately. Neither of them is mutated by the other.
+ *
+ * @author Rugal Bernstein
+ */
+public class PageCriteria {
+
+    protected PageCriteria(Class<?> entityClass, String alias) {
+        this.entityClass = entityClass;
+        this.alias = alias;
+    }
+
+    /**
+     * Create specification for entity class.
+     *
+     * @param entityClass target entity class
+     * <p>
+     * @return specification of given entity.
+     */
+    public static PageCriteria forClass(Class<?> entityClass) {
+        return new PageCriteria(entityClass, null);
+    }
+
+    /**
+     * Create specification for entity class with root alias.
+     *
+     * @param entityClass target entity class
+     * @param alias       alias of root entity
+     * <p>
+     * @return specification of given entity.
+     */
+    public static PageCriteria forClass(Class<?> entityClass, String alias) {
+        return new PageCriteria(entityClass, alias);
+    }
+
+    /**
+     * Add restriction for both count and page query.
+     *
+     * @param criterion restriction to add.
+     * <p>
+     * @return current specification.
+     */
+    public PageCriteria add(Criterion criterion) {
+        criterions.add(criterion);
+        return this;
+    }
+
+    /**
+     * Add ordering for page query only.
+     *
+     * @param order ordering to add
+     * <p>
+     * @return current specification.
+     */
+    public PageCriteria addOrder(Order order) {
+        orders.add(order);
+        return this;
+    }
+
+    /**
+     * Join an association for both count and page query.
+     *
+     * @param associationPath path of association
+     * @param aliasName       alias of joined association
+     * <p>
+     * @return current specification.
+     */
+    public PageCriteria createAlias(String associationPath, String aliasName) {
+        return createAlias(associationPath, aliasName, JoinType.INNER_JOIN);
+    }
+
+    /**
+     * Join an association for both count and page query.
+     *
+     * @param associationPath path of association
+     * @param aliasName       alias of joined association
+     * @param joinType        type of join
+     * <p>
+     * @return current specification.
+     */
+    public PageCriteria createAlias(String associationPath, String aliasName, JoinType joinType) {
+        aliases.add(new String[]{associationPath, aliasName});
+        joinTypes.add(joinType);
+        return this;
+    }
+
+    /**
+     * Set projection for page query only.
+     *
+     * @param projection projection of page query.
+     * <p>
+     * @return current specification.
+     */
+    public PageCriteria setProjection(Projection projection) {
+        this.projection = projection;
+        return this;
+    }
+
+    /**
+     * Set result transformer for page query only.
+     *
+     * @param resultTransformer transformer of page query.
+     * <p>
+     * @return current specification.
+     */
+    public PageCriteria setResultTransformer(ResultTransformer resultTransformer) {
+        this.resultTransformer = resultTransformer;
+        return this;
+    }
+
+    /**
+     * Set cache policy for both count and page query.
+     *
+     * @param cachePolicy cache policy, null for not cached.
+     * <p>
+     * @return current specification.
+     */
+    public PageCriteria setCachePolicy(CachePolicy cachePolicy) {
+        this.cachePolicy = cachePolicy;
+        return this;
+    }
+
+    /**
+     * Create criteria that count row number, without ordering.
+     *
+     * @param session session to create criteria.
+     * <p>
+     * @return count criteria.
+     */
+    public Criteria createCountCriteria(Session session) {
+        return createCriteria(session).setProjection(Projections.rowCount());
+    }
+
+    /**
+     * Create criteria that fetch a page of records.
+     *
+     * @param session     session to create criteria
+     * @param firstResult index of first record
+     * @param maxResults  maximum number of records
+     * <p>
+     * @return page criteria.
+     */
+    public Criteria createPageCriteria(Session session, int firstResult, int maxResults) {
+        Criteria criteria = createCriteria(session);
+        for (Order order : orders) {
+            criteria.addOrder(order);
+        }
+        if (projection != null) {
+            criteria.setProjection(projection);
+        }
+        if (resultTransformer != null) {
+            criteria.setResultTransformer(resultTransformer);
+        }
+        criteria.setFirstResult(firstResult);
+        criteria.setMaxResults(maxResults);
+        return criteria;
+    }
+
+    private Criteria createCriteria(Session session) {
+        Criteria criteria = (alias == null) ? session.createCriteria(entityClass) : session
+            .createCriteria(entityClass, alias);
+        for (int i = 0; i < aliases.size(); i++) {
+            criteria.createAlias(aliases.get(i)[0], aliases.get(i)[1], joinTypes.get(i));
+        }
+        for (Criterion criterion : criterions) {
+            criteria.add(criterion);
+        }
+        if (cachePolicy != null) {
+            cachePolicy.applyTo(criteria);
+        }
+        return criteria;
+    }
+
+    public Class<?> getEntityClass() {
+        return entityClass;
+    }
+
+    private final Class<?> entityClass;
+
+    private final String alias;
+
+    private final List<Criterion> criterions = new ArrayList<>();
+
+    private final List<Order> orders = new ArrayList<>();
+
+    private final List<String[]> aliases = new ArrayList<>();
+
+    private final List<JoinType> joinTypes = new ArrayList<>();
+
+    private Projection projection;
+
+    private ResultTransformer resultTransformer;
+
+    private CachePolicy cachePolicy;
+}
@@ -0,0 +1,92 @@
+package ml.rugal.sshcommon.hibernate;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ *
+ * Cached row count of a finder, which is valid until tables that its count query reads are written.<BR>
+ * Tables are query spaces of Hibernate, which cover tables of joined paths, subclasses and superclasses, the same as
+ * query cache of Hibernate is invalidated. Writes are ordered by sequence of {@link CacheScope}, a row count is stale
+ * if any of its query spaces is written after the count starts.
+ *
+ * @author Rugal Bernstein
+ */
+final class RowCount {
+
+    RowCount(int count, long sequence, Set<Serializable> querySpaces) {
+        this.count = count;
+        this.sequence = sequence;
+        this.querySpaces = querySpaces;
+    }
+
+    /**
+     * Create cache key of finder from its row count HQL and bound parameters.
+     *
+     * @param factoryId identifier of session factory that finder counts in
+     * @param finder    finder to count
+     * <p>
+     * @return key of row count.
+     */
+    static Object createKey(String factoryId, Finder finder) {
+        return new Key(factoryId, finder.getRowCountHql(), finder.getParameterSnapshot());
+    }
+
+    /**
+     * Check if this row count is still valid.
+     *
+     * @param scope cache scope that records writes
+     * <p>
+     * @return false if any query space is written after counting.
+     */
+    boolean isValid(CacheScope scope) {
+        return !scope.isWrittenAfter(querySpaces, sequence);
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    private final int count;
+
+    private final long sequence;
+
+    private final Set<Serializable> querySpaces;
+
+    private static final class Key {
+
+        private Key(String factoryId, String hql, Object[] parameters) {
+            this.factoryId = factoryId;
+            this.hql = hql;
+            this.parameters = parameters;
+            this.hashCode = 31 * (31 * factoryId.hashCode() + hql.hashCode()) + Arrays.deepHashCode(parameters);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return hashCode == other.hashCode && hql.equals(other.hql) && factoryId.equals(other.factoryId)
+                   && Arrays.deepEquals(parameters, other.parameters);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        private final String factoryId;
+
+        private final String hql;
+
+        private final Object[] parameters;
+
+        private final int hashCode;
+    }
+}
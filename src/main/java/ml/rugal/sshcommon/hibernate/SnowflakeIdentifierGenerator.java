@@ -0,0 +1,110 @@
+package ml.rugal.sshcommon.hibernate;
+
+import java.io.Serializable;
+import java.util.Properties;
+
+import ml.rugal.sshcommon.util.SnowflakeIdGenerator;
+import org.hibernate.MappingException;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.Configurable;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+import org.springframework.util.StringUtils;
+
+/**
+ * Hibernate identifier generator that assigns Snowflake-style ids in memory, so that saving an entity needs no
+ * database round trip for its id.<BR>
+ * Identifier of type {@code Long} receives the id itself, identifier of type {@code String} receives its fixed length
+ * N62 representation, whose column needs a case sensitive, binary collation to keep ids unique and sortable.<BR>
+ * Node number must be unique among application instances sharing a database, otherwise they generate duplicate ids.
+ * It is required, and read from {@value #NODE} parameter, then system property {@value #NODE_PROPERTY}, then
+ * environment variable {@value #NODE_ENVIRONMENT}.
+ * <p>
+ * Usage:
+ * <pre>
+ * &#64;Id
+ * &#64;GeneratedValue(generator = "snowflake")
+ * &#64;GenericGenerator(name = "snowflake", strategy = "ml.rugal.sshcommon.hibernate.SnowflakeIdentifierGenerator",
+ *                   parameters = &#64;Parameter(name = "node", value = "1"))
+ * private Long id;
+ * </pre>
+ *
+ * @author Rugal Bernstein
+ */
+public class SnowflakeIdentifierGenerator implements IdentifierGenerator, Configurable {
+
+    /**
+     * Parameter of node number.
+     */
+    public static final String NODE = "node";
+
+    /**
+     * System property of node number, used if parameter is absent.
+     */
+    public static final String NODE_PROPERTY = "sshcommon.snowflake.node";
+
+    /**
+     * Environment variable of node number, used if neither parameter nor system property is present.
+     */
+    public static final String NODE_ENVIRONMENT = "SSHCOMMON_SNOWFLAKE_NODE";
+
+    /**
+     * Parameter of epoch in milliseconds, {@link SnowflakeIdGenerator#DEFAULT_EPOCH} by default.
+     */
+    public static final String EPOCH = "epoch";
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        Class<?> idClass = type.getReturnedClass();
+        if (String.class == idClass) {
+            this.n62 = true;
+        } else if (Long.class != idClass && long.class != idClass) {
+            throw new MappingException("Snowflake id can only be assigned to Long or String, but not " + idClass);
+        }
+        int node = resolveNode(params);
+        String epoch = params.getProperty(EPOCH);
+        this.generator = (null == epoch)
+                         ? new SnowflakeIdGenerator(node)
+                         : new SnowflakeIdGenerator(node, Long.parseLong(epoch));
+    }
+
+    /**
+     * Resolve node number from parameters, system property or environment variable in order.
+     *
+     * @param params parameters of generator
+     *
+     * @return node number.
+     *
+     * @throws MappingException if node number is absent or not a number.
+     */
+    private static int resolveNode(Properties params) throws MappingException {
+        String node = ConfigurationHelper.getString(NODE, params);
+        if (!StringUtils.hasText(node)) {
+            node = System.getProperty(NODE_PROPERTY);
+        }
+        if (!StringUtils.hasText(node)) {
+            node = System.getenv(NODE_ENVIRONMENT);
+        }
+        if (!StringUtils.hasText(node)) {
+            throw new MappingException("Snowflake node is required to keep ids unique among instances, set parameter '"
+                                       + NODE + "', system property '" + NODE_PROPERTY + "' or environment variable '"
+                                       + NODE_ENVIRONMENT + "'");
+        }
+        try {
+            return Integer.parseInt(node.trim());
+        } catch (NumberFormatException e) {
+            throw new MappingException("Snowflake node is not a number: '" + node + "'", e);
+        }
+    }
+
+    @Override
+    public Serializable generate(SharedSessionContractImplementor session, Object object) {
+        return this.n62 ? this.generator.nextN62() : this.generator.nextId();
+    }
+
+    private SnowflakeIdGenerator generator;
+
+    private boolean n62;
+}
@@ -39,6 +39,18 @@ public class Updater<T> {
         return this;
     }
 
+    /**
+     * Whether to check version of bean when updating directly, so that stale bean will not overwrite newer record.
+     *
+     * @param versionCheck check version or not
+     * <p>
+     * @return current updater
+     */
+    public Updater<T> setVersionCheck(boolean versionCheck) {
+        this.versionCheck = versionCheck;
+        return this;
+    }
+
     /**
      * Add property for includes.
      *
@@ -98,6 +110,8 @@ public class Updater<T> {
 
     private UpdateMode mode = UpdateMode.MIDDLE;
 
+    private boolean versionCheck = false;
+
     private static final Logger log = LoggerFactory.getLogger(Updater.class);
 
     public static enum UpdateMode {
@@ -116,4 +130,8 @@ public class Updater<T> {
     public Set<String> getIncludeProperties() {
         return includeProperties;
     }
+
+    public boolean isVersionCheck() {
+        return versionCheck;
+    }
 }
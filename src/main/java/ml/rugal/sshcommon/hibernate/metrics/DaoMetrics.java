@@ -0,0 +1,282 @@
+package ml.rugal.sshcommon.hibernate.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import ml.rugal.sshcommon.hibernate.Finder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+/**
+ *
+ * Registry of DAO operation metrics, shared by DAOs that it is set to.<BR>
+ * Each operation is named after its DAO, such as {@code StudentDao.findPage}, and keeps a latency histogram and
+ * number of rows. Paginated operations record their count query and list query as {@code findPage.count} and
+ * {@code findPage.list} besides the whole call, count served from row count cache is recorded as
+ * {@code findPage.cachedCount} instead. Call that throws is recorded as {@code findPage.error} instead.
+ * Operation slower than threshold is logged with its HQL.
+ * <p>
+ * Metrics could be read by {@link #getStatistics()}, or through JMX after {@link #registerMBean(String)}. DAO without
+ * metrics, or with disabled metrics, costs no more than a null check and a shared no-op timer per call.
+ *
+ * @author Rugal Bernstein
+ */
+public class DaoMetrics implements DaoMetricsMXBean {
+
+    /**
+     * Default threshold of slow query log, in milliseconds.
+     */
+    public static final long DEFAULT_SLOW_QUERY_THRESHOLD = 1000;
+
+    /**
+     * Suffix of operation that fails.
+     */
+    public static final String ERROR = ".error";
+
+    private static final Logger log = LoggerFactory.getLogger(DaoMetrics.class);
+
+    /**
+     * Start a timer of operation.
+     *
+     * @param metrics  registry to record into, null for not recording.
+     * @param category category of operation, that is name of DAO.
+     * <p>
+     * @return new timer, or a no-op timer if metrics is null or disabled.
+     */
+    public static Timer start(DaoMetrics metrics, String category) {
+        return (metrics == null || !metrics.enabled) ? Timer.DISABLED : new Timer(metrics, category);
+    }
+
+    /**
+     * Get metrics of operation, create it if absent.
+     *
+     * @param category  category of operation, that is name of DAO.
+     * @param operation name of operation in category
+     * <p>
+     * @return metrics of operation.
+     */
+    public OperationMetrics getOperation(String category, String operation) {
+        ConcurrentMap<String, OperationMetrics> group = categories.get(category);
+        if (group == null) {
+            group = categories.computeIfAbsent(category, key -> new ConcurrentHashMap<>());
+        }
+        OperationMetrics metrics = group.get(operation);
+        if (metrics == null) {
+            metrics = group.computeIfAbsent(operation, key -> new OperationMetrics(category + '.' + key));
+        }
+        return metrics;
+    }
+
+    /**
+     * Get all operations ever recorded.
+     *
+     * @return metrics of operations ordered by name.
+     */
+    public List<OperationMetrics> getOperations() {
+        List<OperationMetrics> operations = new ArrayList<>();
+        for (ConcurrentMap<String, OperationMetrics> group : categories.values()) {
+            operations.addAll(group.values());
+        }
+        operations.sort(Comparator.comparing(OperationMetrics::getName));
+        return operations;
+    }
+
+    @Override
+    public List<OperationStatistics> getStatistics() {
+        List<OperationStatistics> statistics = new ArrayList<>();
+        for (OperationMetrics operation : getOperations()) {
+            statistics.add(operation.getStatistics());
+        }
+        return statistics;
+    }
+
+    @Override
+    public void reset() {
+        for (OperationMetrics operation : getOperations()) {
+            operation.reset();
+        }
+    }
+
+    /**
+     * Record a call of operation, and log it if it is slow.
+     *
+     * @param category  category of operation
+     * @param operation name of operation
+     * @param nanos     latency in nanoseconds
+     * @param rows      number of rows returned or affected, negative if not applicable.
+     * @param query     {@link Finder}, HQL, criteria or identifier of operation, for slow query log.
+     */
+    protected void record(String category, String operation, long nanos, long rows, Object query) {
+        getOperation(category, operation).record(nanos, rows);
+        long threshold = slowQueryThreshold;
+        if (threshold > 0 && nanos >= TimeUnit.MILLISECONDS.toNanos(threshold)) {
+            logSlowQuery(category + '.' + operation, nanos, rows, query);
+        }
+    }
+
+    /**
+     * Log slow operation, override to report elsewhere.
+     *
+     * @param name  name of operation
+     * @param nanos latency in nanoseconds
+     * @param rows  number of rows, negative if not applicable.
+     * @param query {@link Finder}, HQL, criteria or identifier of operation.
+     */
+    protected void logSlowQuery(String name, long nanos, long rows, Object query) {
+        if (log.isWarnEnabled()) {
+            String description = (query instanceof Finder) ? ((Finder) query).getOrigHql() : String.valueOf(query);
+            log.warn("Slow DAO operation {} took {} ms, rows {}: {}", name, TimeUnit.NANOSECONDS.toMillis(nanos),
+                     (rows < 0) ? "n/a" : rows, description);
+        }
+    }
+
+    /**
+     * Register this registry into platform MBean server.
+     *
+     * @param name object name, such as {@code ml.rugal.sshcommon:type=DaoMetrics}
+     * <p>
+     * @return registered object name.
+     */
+    public ObjectName registerMBean(String name) {
+        try {
+            ObjectName objectName = new ObjectName(name);
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+            return objectName;
+        } catch (JMException e) {
+            throw new IllegalStateException("register MBean failed: '" + name + "'", e);
+        }
+    }
+
+    /**
+     * Unregister this registry from platform MBean server.
+     *
+     * @param objectName registered object name
+     */
+    public void unregisterMBean(ObjectName objectName) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (JMException e) {
+            throw new IllegalStateException("unregister MBean failed: '" + objectName + "'", e);
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Get threshold of slow query log.
+     *
+     * @return threshold in milliseconds, 0 if slow query log is off.
+     */
+    @Override
+    public long getSlowQueryThreshold() {
+        return slowQueryThreshold;
+    }
+
+    /**
+     * Set threshold of slow query log.
+     *
+     * @param slowQueryThreshold threshold in milliseconds, 0 to turn off slow query log.
+     */
+    @Override
+    public void setSlowQueryThreshold(long slowQueryThreshold) {
+        Assert.isTrue(slowQueryThreshold >= 0, "slow query threshold must not be negative");
+        this.slowQueryThreshold = slowQueryThreshold;
+    }
+
+    private final ConcurrentMap<String, ConcurrentMap<String, OperationMetrics>> categories
+        = new ConcurrentHashMap<>();
+
+    private volatile boolean enabled = true;
+
+    private volatile long slowQueryThreshold = DEFAULT_SLOW_QUERY_THRESHOLD;
+
+    /**
+     * Timer of a DAO call, not thread safe.<BR>
+     * Timed body should be wrapped in {@code try}, that calls {@link #stop(String, long, Object)} at its end and
+     * {@link #stopIfFailed(String, Object)} in {@code finally}.
+     */
+    public static final class Timer {
+
+        private static final Timer DISABLED = new Timer(null, null);
+
+        private Timer(DaoMetrics metrics, String category) {
+            this.metrics = metrics;
+            this.category = category;
+            this.start = (metrics == null) ? 0 : System.nanoTime();
+            this.lapStart = this.start;
+        }
+
+        /**
+         * Record time since start or last lap as a part of call, such as count query of a paginated call.
+         *
+         * @param operation name of the part
+         * @param rows      number of rows, negative if not applicable.
+         * @param query     query of the part
+         * <p>
+         * @return current timer.
+         */
+        public Timer lap(String operation, long rows, Object query) {
+            if (metrics != null) {
+                long now = System.nanoTime();
+                metrics.record(category, operation, now - lapStart, rows, query);
+                lapStart = now;
+            }
+            return this;
+        }
+
+        /**
+         * Record time since start as the whole call.
+         *
+         * @param operation name of operation
+         * @param rows      number of rows, negative if not applicable.
+         * @param query     query of operation
+         */
+        public void stop(String operation, long rows, Object query) {
+            if (metrics != null) {
+                stopped = true;
+                metrics.record(category, operation, System.nanoTime() - start, rows, query);
+            }
+        }
+
+        /**
+         * Record time since start as a failed call named with suffix {@value DaoMetrics#ERROR}, unless call is already
+         * stopped.
+         *
+         * @param operation name of operation
+         * @param query     query of operation
+         */
+        public void stopIfFailed(String operation, Object query) {
+            if (metrics != null && !stopped) {
+                stopped = true;
+                metrics.record(category, operation + ERROR, System.nanoTime() - start, -1, query);
+            }
+        }
+
+        private final DaoMetrics metrics;
+
+        private final String category;
+
+        private final long start;
+
+        private long lapStart;
+
+        private boolean stopped;
+    }
+}
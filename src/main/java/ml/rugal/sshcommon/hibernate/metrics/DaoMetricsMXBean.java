@@ -0,0 +1,23 @@
+package ml.rugal.sshcommon.hibernate.metrics;
+
+import java.util.List;
+
+/**
+ * JMX view of {@link DaoMetrics}.
+ *
+ * @author Rugal Bernstein
+ */
+public interface DaoMetricsMXBean {
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    long getSlowQueryThreshold();
+
+    void setSlowQueryThreshold(long slowQueryThreshold);
+
+    List<OperationStatistics> getStatistics();
+
+    void reset();
+}
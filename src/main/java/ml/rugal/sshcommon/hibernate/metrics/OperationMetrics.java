@@ -0,0 +1,65 @@
+package ml.rugal.sshcommon.hibernate.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics of a DAO operation, that is latency histogram and number of rows.
+ *
+ * @author Rugal Bernstein
+ */
+public final class OperationMetrics {
+
+    OperationMetrics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Record a call.
+     *
+     * @param nanos latency in nanoseconds
+     * @param rows  number of rows returned or affected, negative if not applicable.
+     */
+    public void record(long nanos, long rows) {
+        latency.record(nanos);
+        if (rows > 0) {
+            this.rows.add(rows);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public long getRows() {
+        return rows.sum();
+    }
+
+    /**
+     * Take statistics of this operation.
+     *
+     * @return statistics in milliseconds.
+     */
+    public OperationStatistics getStatistics() {
+        return new OperationStatistics(name, latency.getCount(), rows.sum(), latency.getMean() / 1000,
+                                       latency.getPercentile(50) / 1000.0, latency.getPercentile(99) / 1000.0,
+                                       latency.getMax() / 1000.0);
+    }
+
+    /**
+     * Clear recorded latencies and rows.
+     */
+    public void reset() {
+        latency.reset();
+        rows.reset();
+    }
+
+    private final String name;
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    private final LongAdder rows = new LongAdder();
+}
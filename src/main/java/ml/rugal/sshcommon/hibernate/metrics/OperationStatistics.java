@@ -0,0 +1,86 @@
+package ml.rugal.sshcommon.hibernate.metrics;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * Immutable statistics of a DAO operation, taken at a point of time. Latencies are in milliseconds.
+ *
+ * @author Rugal Bernstein
+ */
+public final class OperationStatistics {
+
+    @ConstructorProperties({"name", "count", "rows", "mean", "median", "percentile99", "max"})
+    public OperationStatistics(String name, long count, long rows, double mean, double median, double percentile99,
+                               double max) {
+        this.name = name;
+        this.count = count;
+        this.rows = rows;
+        this.mean = mean;
+        this.median = median;
+        this.percentile99 = percentile99;
+        this.max = max;
+    }
+
+    /**
+     * Name of operation, such as {@code StudentDao.findPage}.
+     *
+     * @return name of operation.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Number of calls.
+     *
+     * @return number of calls.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Total number of rows returned or affected.
+     *
+     * @return number of rows.
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public double getMedian() {
+        return median;
+    }
+
+    public double getPercentile99() {
+        return percentile99;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return name + "{count=" + count + ", rows=" + rows + ", mean=" + mean + "ms, median=" + median
+               + "ms, p99=" + percentile99 + "ms, max=" + max + "ms}";
+    }
+
+    private final String name;
+
+    private final long count;
+
+    private final long rows;
+
+    private final double mean;
+
+    private final double median;
+
+    private final double percentile99;
+
+    private final double max;
+}
@@ -0,0 +1,41 @@
+package ml.rugal.sshcommon.page;
+
+/**
+ * Interface of object that is paginable by cursor, also known as keyset or seek pagination.<BR>
+ * Instead of a page number, each page carries an opaque cursor that points just after the last record of previous
+ * page, thus fetching a deep page costs the same as fetching the first one.
+ *
+ * @author Rugal Bernstein
+ */
+public interface CursorPaginable {
+
+    public int getPageSize();
+
+    /**
+     * The cursor this page was fetched after.
+     *
+     * @return cursor of previous page, or null if this is the first page.
+     */
+    public String getCursor();
+
+    /**
+     * The cursor to be used to fetch next page.
+     *
+     * @return cursor of next page, or null if current page is the last one.
+     */
+    public String getNextCursor();
+
+    /**
+     * See if this is the first page, that is, fetched without cursor.
+     *
+     * @return true if current page is the first one.
+     */
+    public boolean isFirstPage();
+
+    /**
+     * To see if there is no more record after current page.
+     *
+     * @return true if current page is the last one.
+     */
+    public boolean isLastPage();
+}
@@ -0,0 +1,164 @@
+package ml.rugal.sshcommon.page;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+import com.google.gson.annotations.Expose;
+
+/**
+ * Concrete page for cursor based pagination.
+ *
+ * @author Rugal Bernstein
+ */
+public class CursorPagination implements Serializable, CursorPaginable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Encode a sort key value into an opaque cursor.<BR>
+     * Supported types are {@link Integer}, {@link Long}, {@link String} and {@link Date}.
+     *
+     * @param value The sort key value of last record in a page.
+     *
+     * @return cursor string that is safe to be put in URL.
+     */
+    public static String encodeCursor(Object value) {
+        if (value instanceof Integer) {
+            return INTEGER_TAG + Long.toString((Integer) value, Character.MAX_RADIX);
+        }
+        if (value instanceof Long) {
+            return LONG_TAG + Long.toString((Long) value, Character.MAX_RADIX);
+        }
+        if (value instanceof Date) {
+            return DATE_TAG + Long.toString(((Date) value).getTime(), Character.MAX_RADIX);
+        }
+        if (value instanceof String) {
+            return STRING_TAG + Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(((String) value).getBytes(StandardCharsets.UTF_8));
+        }
+        throw new IllegalArgumentException("Unsupported sort key type for cursor: " + value);
+    }
+
+    /**
+     * Decode a cursor back into the sort key value.
+     *
+     * @param cursor The cursor generated by {@link #encodeCursor(java.lang.Object)}
+     *
+     * @return sort key value with its original type.
+     */
+    public static Object decodeCursor(String cursor) {
+        if (cursor == null || cursor.length() < 2) {
+            throw new IllegalArgumentException("Illegal cursor: " + cursor);
+        }
+        String body = cursor.substring(1);
+        try {
+            switch (cursor.charAt(0)) {
+                case INTEGER_TAG:
+                    return Integer.parseInt(body, Character.MAX_RADIX);
+                case LONG_TAG:
+                    return Long.parseLong(body, Character.MAX_RADIX);
+                case DATE_TAG:
+                    return new Date(Long.parseLong(body, Character.MAX_RADIX));
+                case STRING_TAG:
+                    return new String(Base64.getUrlDecoder().decode(body), StandardCharsets.UTF_8);
+                default:
+                    break;
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Illegal cursor: " + cursor, e);
+        }
+        throw new IllegalArgumentException("Illegal cursor: " + cursor);
+    }
+
+    public CursorPagination() {
+    }
+
+    /**
+     *
+     * @param cursor   The cursor to fetch after, null for the first page
+     * @param pageSize Size per page
+     */
+    public CursorPagination(String cursor, int pageSize) {
+        this.cursor = cursor;
+        setPageSize(pageSize);
+    }
+
+    @Override
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    @Override
+    public String getCursor() {
+        return cursor;
+    }
+
+    @Override
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean isFirstPage() {
+        return cursor == null;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean isLastPage() {
+        return nextCursor == null;
+    }
+
+    public List<?> getList() {
+        return list;
+    }
+
+    public void setList(List<?> list) {
+        this.list = list;
+    }
+
+    /**
+     * set page size to query, will use default page size if parameter less than 1.
+     *
+     * @param pageSize Size of page.
+     */
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize < 1 ? SimplePage.DEFAULT_COUNT : pageSize;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    @Expose
+    private int pageSize = SimplePage.DEFAULT_COUNT;
+
+    @Expose
+    private String cursor;
+
+    @Expose
+    private String nextCursor;
+
+    @Expose
+    private List<?> list;
+
+    private static final char INTEGER_TAG = 'i';
+
+    private static final char LONG_TAG = 'l';
+
+    private static final char DATE_TAG = 'd';
+
+    private static final char STRING_TAG = 's';
+}
@@ -19,6 +19,10 @@ public class Pagination extends SimplePage implements Serializable, Paginable {
         super(pageNo, pageSize, totalCount);
     }
 
+    public Pagination(int pageNo, int pageSize, CountMode countMode) {
+        super(pageNo, pageSize, countMode);
+    }
+
     public Pagination(int pageNo, int pageSize, int totalCount, List<?> list) {
         super(pageNo, pageSize, totalCount);
         this.list = list;
@@ -10,6 +10,11 @@ public class SimplePage implements Paginable {
 
     public static final int DEFAULT_COUNT = 20;
 
+    /**
+     * Total count that is not known, such as no count query executed.
+     */
+    public static final int UNKNOWN_COUNT = -1;
+
     /**
      * check the page number and give it valid number.
      *
@@ -38,10 +43,23 @@ public class SimplePage implements Paginable {
     }
 
     /**
-     * Adjust page number if it is not accurate.
+     * Page without exact total count, total count and page number are then decided by fetched records.
+     *
+     * @param pageNo    Page number
+     * @param pageSize  Size per page
+     * @param countMode How total count is obtained.
+     */
+    public SimplePage(int pageNo, int pageSize, CountMode countMode) {
+        setPageSize(pageSize);
+        setPageNo(pageNo);
+        this.countMode = countMode;
+    }
+
+    /**
+     * Adjust page number if it is not accurate. Only applicable when total count is exact.
      */
     public void adjustPageNo() {
-        if (pageNo == 1) {
+        if (pageNo == 1 || countMode != CountMode.EXACT) {
             return;
         }
         int tp = getTotalPage();
@@ -60,18 +78,43 @@ public class SimplePage implements Paginable {
         return pageSize;
     }
 
+    /**
+     * {@inheritDoc }
+     *
+     * @return total count, or {@link #UNKNOWN_COUNT} if it is not known.
+     */
     @Override
     public int getTotalCount() {
         return totalCount;
     }
 
+    /**
+     * Whether total count is known, it is not known if no count is executed and it could not be decided by records
+     * fetched.
+     *
+     * @return true if total count is not {@link #UNKNOWN_COUNT}.
+     */
+    public boolean isTotalCountKnown() {
+        return totalCount != UNKNOWN_COUNT;
+    }
+
     /**
      * {@inheritDoc }
+     * <p>
+     * If total count is not exact, the total page is at least the next page if there are more records after current
+     * page; or exactly current page if not.
      */
     @Override
     public int getTotalPage() {
+        if (countMode == CountMode.NONE || !isTotalCountKnown()) {
+            return moreRecords ? pageNo + 1 : pageNo;
+        }
         int totalPage = totalCount / pageSize;
-        return (totalPage == 0 || totalCount % pageSize != 0) ? totalPage + 1 : totalPage;
+        totalPage = (totalPage == 0 || totalCount % pageSize != 0) ? totalPage + 1 : totalPage;
+        if (countMode == CountMode.ESTIMATED) {
+            return moreRecords ? Math.max(totalPage, pageNo + 1) : pageNo;
+        }
+        return totalPage;
     }
 
     /**
@@ -115,13 +158,36 @@ public class SimplePage implements Paginable {
     @Expose
     protected int pageNo = 1;
 
+    @Expose
+    protected CountMode countMode = CountMode.EXACT;
+
+    @Expose
+    protected boolean moreRecords = false;
+
+    public CountMode getCountMode() {
+        return countMode;
+    }
+
+    /**
+     * Whether there are more records after current page. Only applicable when total count is not exact.
+     *
+     * @return true if there are more records after current page.
+     */
+    public boolean isMoreRecords() {
+        return moreRecords;
+    }
+
+    public void setMoreRecords(boolean moreRecords) {
+        this.moreRecords = moreRecords;
+    }
+
     /**
-     * To set total count for a query.
+     * To set total count for a query, negative count other than {@link #UNKNOWN_COUNT} is adjusted to 0.
      *
-     * @param totalCount Number of total records
+     * @param totalCount Number of total records, or {@link #UNKNOWN_COUNT}
      */
     public void setTotalCount(int totalCount) {
-        this.totalCount = totalCount < 0 ? 0 : totalCount;
+        this.totalCount = (totalCount == UNKNOWN_COUNT) ? UNKNOWN_COUNT : Math.max(totalCount, 0);
     }
 
     /**
@@ -142,4 +208,17 @@ public class SimplePage implements Paginable {
     public void setPageNo(int pageNo) {
         this.pageNo = pageNo < 1 ? 1 : pageNo;
     }
+
+    /**
+     * How total count of a page is obtained.<BR>
+     * 1. EXACT mode runs a count query, total count is accurate.<BR>
+     * 2. ESTIMATED mode uses an estimated total count if it is beyond fetched records, otherwise total count is
+     * {@link #UNKNOWN_COUNT}.<BR>
+     * 3. NONE mode runs no count query, total count is {@link #UNKNOWN_COUNT}.<BR>
+     * In both modes, total count is exact on the last page that has records.
+     */
+    public static enum CountMode {
+
+        EXACT, ESTIMATED, NONE
+    }
 }
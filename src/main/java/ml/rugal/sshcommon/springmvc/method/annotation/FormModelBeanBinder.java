@@ -0,0 +1,209 @@
+package ml.rugal.sshcommon.springmvc.method.annotation;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.PropertyValues;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.Property;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.NumberUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.validation.DataBinder;
+
+/**
+ * Binder generated once per target class, that sets simple properties through method handles.<BR>
+ * Values are converted by conversion service of data binder if it has one, as data binder would; otherwise by
+ * precompiled converters, which support String, primitives and their wrappers, {@link BigDecimal},
+ * {@link BigInteger} and enums. Binding is refused as a whole if any value does not fit, such as nested path,
+ * unsupported type, multiple or empty values, property that has a custom editor, or value that could not be
+ * converted; so that caller could fall back to a data binder, which reports errors the usual way.
+ *
+ * @author Rugal Bernstein
+ */
+final class FormModelBeanBinder {
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final Object INVALID = new Object();
+
+    private static final TypeDescriptor STRING_TYPE = TypeDescriptor.valueOf(String.class);
+
+    private FormModelBeanBinder(Class<?> targetClass) {
+        for (PropertyDescriptor descriptor : BeanUtils.getPropertyDescriptors(targetClass)) {
+            Method setter = descriptor.getWriteMethod();
+            if (setter == null) {
+                continue;
+            }
+            TypeDescriptor type = new TypeDescriptor(new Property(targetClass, descriptor.getReadMethod(), setter,
+                                                                  descriptor.getName()));
+            try {
+                ReflectionUtils.makeAccessible(setter);
+                MethodHandle handle = MethodHandles.lookup().unreflect(setter).asType(SETTER_TYPE);
+                this.setters.put(descriptor.getName(), new Setter(type, handle,
+                                                                  createConverter(descriptor.getPropertyType())));
+            } catch (IllegalAccessException e) {
+                //Leave it to data binder
+            }
+        }
+    }
+
+    /**
+     * Create binder of target class.
+     *
+     * @param targetClass class of bean to bind
+     *
+     * @return binder of class.
+     */
+    static FormModelBeanBinder forClass(Class<?> targetClass) {
+        return new FormModelBeanBinder(targetClass);
+    }
+
+    /**
+     * Bind property values to target, all or none.
+     *
+     * @param target bean to bind
+     * @param pvs    property values to bind
+     * @param binder data binder whose custom editors and conversion service would be used
+     *
+     * @return true if all values are bound; false if nothing is bound, and values need to be bound by data binder.
+     */
+    boolean bind(Object target, PropertyValues pvs, DataBinder binder) {
+        ConversionService conversionService = binder.getConversionService();
+        PropertyValue[] values = pvs.getPropertyValues();
+        Setter[] targetSetters = new Setter[values.length];
+        Object[] converted = new Object[values.length];
+        for (int i = 0; i < values.length; i++) {
+            Setter setter = this.setters.get(values[i].getName());
+            Object value = values[i].getValue();
+            if (setter == null || !(value instanceof String)
+                || binder.findCustomEditor(setter.type.getType(), values[i].getName()) != null) {
+                return false;
+            }
+            converted[i] = (conversionService == null)
+                           ? convert(setter, (String) value)
+                           : convert(conversionService, setter, (String) value);
+            if (converted[i] == INVALID) {
+                return false;
+            }
+            targetSetters[i] = setter;
+        }
+        for (int i = 0; i < values.length; i++) {
+            try {
+                targetSetters[i].handle.invokeExact(target, converted[i]);
+            } catch (Throwable e) {
+                //Let data binder invoke setter again and report error
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Object convert(Setter setter, String value) {
+        return (setter.converter == null) ? INVALID : setter.converter.apply(value);
+    }
+
+    private static Object convert(ConversionService conversionService, Setter setter, String value) {
+        if (!conversionService.canConvert(STRING_TYPE, setter.type)) {
+            return INVALID;
+        }
+        try {
+            Object converted = conversionService.convert(value, STRING_TYPE, setter.type);
+            return (converted == null && setter.type.isPrimitive()) ? INVALID : converted;
+        } catch (ConversionException e) {
+            return INVALID;
+        }
+    }
+
+    private static Function<String, Object> createConverter(Class<?> type) {
+        if (String.class == type) {
+            return value -> value;
+        }
+        Class<?> wrapper = ClassUtils.resolvePrimitiveIfNecessary(type);
+        if (Number.class.isAssignableFrom(wrapper)
+            && (wrapper.getName().startsWith("java.lang.") || BigDecimal.class == wrapper
+                || BigInteger.class == wrapper)) {
+            @SuppressWarnings("unchecked")
+            Class<? extends Number> numberType = (Class<? extends Number>) wrapper;
+            return nonEmpty(value -> NumberUtils.parseNumber(value, numberType));
+        }
+        if (Boolean.class == wrapper) {
+            return nonEmpty(FormModelBeanBinder::toBoolean);
+        }
+        if (Character.class == wrapper) {
+            return value -> (value.length() == 1) ? value.charAt(0) : INVALID;
+        }
+        if (type.isEnum()) {
+            return nonEmpty(value -> toEnum(type, value));
+        }
+        return null;
+    }
+
+    private static Function<String, Object> nonEmpty(Function<String, Object> converter) {
+        return value -> {
+            if (value.trim().isEmpty()) {
+                return INVALID;
+            }
+            try {
+                return converter.apply(value);
+            } catch (IllegalArgumentException e) {
+                return INVALID;
+            }
+        };
+    }
+
+    private static Object toBoolean(String value) {
+        switch (value.trim().toLowerCase(Locale.ENGLISH)) {
+            case "true":
+            case "on":
+            case "yes":
+            case "1":
+                return Boolean.TRUE;
+            case "false":
+            case "off":
+            case "no":
+            case "0":
+                return Boolean.FALSE;
+            default:
+                return INVALID;
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object toEnum(Class<?> type, String value) {
+        return Enum.valueOf((Class<? extends Enum>) type, value.trim());
+    }
+
+    private final Map<String, Setter> setters = new HashMap<>();
+
+    private static final class Setter {
+
+        private Setter(TypeDescriptor type, MethodHandle handle, Function<String, Object> converter) {
+            this.type = type;
+            this.handle = handle;
+            this.converter = converter;
+        }
+
+        private final TypeDescriptor type;
+
+        private final MethodHandle handle;
+
+        /**
+         * Precompiled converter, null if type is not supported without conversion service.
+         */
+        private final Function<String, Object> converter;
+    }
+}
@@ -0,0 +1,133 @@
+package ml.rugal.sshcommon.springmvc.method.annotation;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import ml.rugal.sshcommon.springmvc.bind.annotation.FormModel;
+import ml.rugal.sshcommon.springmvc.util.MapWapper;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.validation.Errors;
+
+/**
+ * Immutable binding metadata of a {@code @FormModel} parameter, resolved once per {@link MethodParameter}.
+ *
+ * @author Rugal Bernstein
+ */
+final class FormModelDescriptor {
+
+    FormModelDescriptor(MethodParameter parameter) {
+        this.name = parameter.getParameterAnnotation(FormModel.class).value();
+        this.parameterType = parameter.getParameterType();
+
+        ResolvableType type = ResolvableType.forMethodParameter(parameter);
+        if (this.parameterType.isArray()) {
+            this.componentType = this.parameterType.getComponentType();
+        } else {
+            this.componentType = resolve(type.as(Collection.class), 0);
+        }
+        ResolvableType mapType = type.as(MapWapper.class);
+        this.keyType = resolve(mapType, 0);
+        this.valueType = resolve(mapType, 1);
+
+        List<Object[]> hints = new ArrayList<>(1);
+        for (Annotation annotation : parameter.getParameterAnnotations()) {
+            if (annotation.annotationType().getSimpleName().startsWith("Valid")) {
+                Object value = AnnotationUtils.getValue(annotation);
+                hints.add(value instanceof Object[] ? (Object[]) value : new Object[]{value});
+            }
+        }
+        this.validationHints = Collections.unmodifiableList(hints);
+
+        int index = parameter.getParameterIndex();
+        Class<?>[] paramTypes = parameter.getMethod().getParameterTypes();
+        this.bindExceptionRequired = !(paramTypes.length > (index + 1)
+                                       && Errors.class.isAssignableFrom(paramTypes[index + 1]));
+    }
+
+    private static Class<?> resolve(ResolvableType type, int index) {
+        Class<?> resolved = type.resolveGeneric(index);
+        return (resolved != null) ? resolved : Object.class;
+    }
+
+    /**
+     * Name of form model, that is prefix of its parameters.
+     *
+     * @return name of form model.
+     */
+    String getName() {
+        return name;
+    }
+
+    Class<?> getParameterType() {
+        return parameterType;
+    }
+
+    /**
+     * Element type of array or collection parameter.
+     *
+     * @return element type, {@code Object} if not resolvable.
+     */
+    Class<?> getComponentType() {
+        return componentType;
+    }
+
+    /**
+     * Key type of {@link MapWapper} parameter.
+     *
+     * @return key type, {@code Object} if not resolvable.
+     */
+    Class<?> getKeyType() {
+        return keyType;
+    }
+
+    /**
+     * Value type of {@link MapWapper} parameter.
+     *
+     * @return value type, {@code Object} if not resolvable.
+     */
+    Class<?> getValueType() {
+        return valueType;
+    }
+
+    /**
+     * Validation hints of each {@code @Valid} like annotation on parameter.
+     *
+     * @return validation hints, empty if parameter is not to be validated.
+     */
+    List<Object[]> getValidationHints() {
+        return validationHints;
+    }
+
+    boolean isValidated() {
+        return !validationHints.isEmpty();
+    }
+
+    /**
+     * Whether to raise {@link org.springframework.validation.BindException}, that is if next method argument is not of
+     * type {@link Errors}.
+     *
+     * @return true if exception is required.
+     */
+    boolean isBindExceptionRequired() {
+        return bindExceptionRequired;
+    }
+
+    private final String name;
+
+    private final Class<?> parameterType;
+
+    private final Class<?> componentType;
+
+    private final Class<?> keyType;
+
+    private final Class<?> valueType;
+
+    private final List<Object[]> validationHints;
+
+    private final boolean bindExceptionRequired;
+}
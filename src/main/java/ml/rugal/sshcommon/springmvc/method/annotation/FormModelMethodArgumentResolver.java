@@ -1,22 +1,16 @@
 package ml.rugal.sshcommon.springmvc.method.annotation;
 
-import java.io.File;
-import java.io.IOException;
-import java.io.InputStream;
 import java.lang.annotation.Annotation;
-import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.servlet.ServletRequest;
 import javax.servlet.http.HttpServletRequest;
@@ -26,23 +20,20 @@ import ml.rugal.sshcommon.springmvc.util.MapWapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeanUtils;
+import org.springframework.beans.PropertyValues;
 import org.springframework.core.MethodParameter;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.TypeDescriptor;
-import org.springframework.mock.web.MockHttpServletRequest;
-import org.springframework.mock.web.MockMultipartHttpServletRequest;
+import org.springframework.util.ObjectUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.validation.BindException;
 import org.springframework.validation.DataBinder;
-import org.springframework.validation.Errors;
 import org.springframework.web.bind.ServletRequestDataBinder;
-import org.springframework.web.bind.ServletRequestParameterPropertyValues;
 import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.support.WebDataBinderFactory;
 import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.method.support.ModelAndViewContainer;
-import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.multipart.MultipartRequest;
 import org.springframework.web.util.WebUtils;
 
@@ -57,15 +48,124 @@ public class FormModelMethodArgumentResolver extends BaseMethodArgumentResolver
         .getName());
 
     /**
-     * Get index pattern, such as [0].
+     * Default limit for collection auto-growing, high enough for any real form.
      */
-    private final Pattern INDEX_PATTERN = Pattern.compile("\\[(\\d+)\\]\\.?");
+    public static final int DEFAULT_AUTO_GROW_COLLECTION_LIMIT = 65536;
 
-    private final int autoGrowCollectionLimit = Integer.MAX_VALUE;
+    /**
+     * Error code of binding to an index beyond auto-growing limit.
+     */
+    public static final String AUTO_GROW_LIMIT_ERROR_CODE = "autoGrowCollectionLimit";
+
+    private int autoGrowCollectionLimit = DEFAULT_AUTO_GROW_COLLECTION_LIMIT;
+
+    /**
+     * Binding metadata of each parameter.
+     */
+    private final ConcurrentMap<MethodParameter, FormModelDescriptor> descriptors = new ConcurrentHashMap<>(256);
+
+    private boolean generateBinders = false;
+
+    /**
+     * Generated binder of each element class.
+     */
+    private final ConcurrentMap<Class<?>, FormModelBeanBinder> beanBinders = new ConcurrentHashMap<>(64);
 
     public FormModelMethodArgumentResolver() {
     }
 
+    /**
+     * Specify the limit for array and collection auto-growing.<BR>
+     * Binding to an index beyond the limit is rejected as a binding error with code
+     * {@value #AUTO_GROW_LIMIT_ERROR_CODE}, so that a request of huge index could not allocate a huge collection.
+     * Default is {@value #DEFAULT_AUTO_GROW_COLLECTION_LIMIT}.
+     *
+     * @param autoGrowCollectionLimit maximum size that collection could grow to.
+     */
+    public void setAutoGrowCollectionLimit(int autoGrowCollectionLimit) {
+        this.autoGrowCollectionLimit = autoGrowCollectionLimit;
+    }
+
+    public int getAutoGrowCollectionLimit() {
+        return autoGrowCollectionLimit;
+    }
+
+    /**
+     * Bind elements of collection and map through binders generated per element class, instead of creating a data
+     * binder for each element.<BR>
+     * Generated binders convert values by conversion service of data binder, such as the one configured by
+     * {@code @EnableWebMvc}, or set String, primitive, number and enum properties with built-in conversion if there is
+     * none. They are used only if data binder of parameter has neither allowed, disallowed nor required fields, and
+     * bound property has no custom editor, so that {@code @InitBinder} customization still applies. Elements they
+     * could not bind fully, and parameters that require validation, still go through data binder. Disabled by
+     * default.
+     *
+     * @param generateBinders true to enable generated binders.
+     */
+    public void setGenerateBinders(boolean generateBinders) {
+        this.generateBinders = generateBinders;
+    }
+
+    public boolean isGenerateBinders() {
+        return generateBinders;
+    }
+
+    /**
+     * Whether elements of parameter could be bound by generated binders.
+     *
+     * @param binder     data binder created for parameter, which carries customization of {@code @InitBinder}
+     * @param descriptor binding metadata of parameter
+     *
+     * @return true if generated binders are enabled and bind the same as data binder.
+     */
+    private boolean canBindDirectly(WebDataBinder binder, FormModelDescriptor descriptor) {
+        return this.generateBinders && !descriptor.isValidated()
+               && ObjectUtils.isEmpty(binder.getAllowedFields())
+               && ObjectUtils.isEmpty(binder.getDisallowedFields())
+               && ObjectUtils.isEmpty(binder.getRequiredFields());
+    }
+
+    /**
+     * Try binding element with generated binder.
+     *
+     * @param component element of collection or map
+     * @param pvs       property values of element
+     * @param binder    data binder created for parameter, whose custom editors take precedence
+     *
+     * @return true if element is bound; false if it needs data binder.
+     */
+    private boolean bindDirectly(Object component, PropertyValues pvs, WebDataBinder binder) {
+        Class<?> componentClass = component.getClass();
+        FormModelBeanBinder beanBinder = this.beanBinders.get(componentClass);
+        if (beanBinder == null) {
+            beanBinder = FormModelBeanBinder.forClass(componentClass);
+            FormModelBeanBinder existing = this.beanBinders.putIfAbsent(componentClass, beanBinder);
+            if (existing != null) {
+                beanBinder = existing;
+            }
+        }
+        return beanBinder.bind(component, pvs, binder);
+    }
+
+    /**
+     * Get binding metadata of parameter, resolved on first use.
+     *
+     * @param parameter parameter annotated with {@code @FormModel}
+     *
+     * @return binding descriptor of parameter.
+     */
+    private FormModelDescriptor getDescriptor(MethodParameter parameter) {
+        FormModelDescriptor descriptor = this.descriptors.get(parameter);
+        if (descriptor == null) {
+            descriptor = new FormModelDescriptor(parameter);
+            FormModelDescriptor existing = this.descriptors.putIfAbsent(parameter, descriptor);
+            if (existing != null) {
+                descriptor = existing;
+            }
+        }
+        return descriptor;
+    }
+
     @Override
     public boolean supportsParameter(MethodParameter parameter) {
         return parameter.hasParameterAnnotation(FormModel.class);
@@ -92,7 +192,7 @@ public class FormModelMethodArgumentResolver extends BaseMethodArgumentResolver
     public final Object resolveArgument(MethodParameter parameter,
                                         ModelAndViewContainer mavContainer,
                                         NativeWebRequest request, WebDataBinderFactory binderFactory) throws BindException, Exception {
-        String name = parameter.getParameterAnnotation(FormModel.class).value();
+        String name = getDescriptor(parameter).getName();
 
         Object target = (mavContainer.containsAttribute(name))
                         ? mavContainer.getModel().get(name)
@@ -235,84 +335,63 @@ public class FormModelMethodArgumentResolver extends BaseMethodArgumentResolver
                                          WebDataBinderFactory binderFactory, WebDataBinder binder, NativeWebRequest request,
                                          MethodParameter parameter) throws Exception {
 
-        Map<String, Boolean> hasProcessedPrefixMap = new HashMap<>();
-
+        FormModelDescriptor descriptor = getDescriptor(parameter);
         Class<?> targetType = binder.getTarget().getClass();
         ServletRequest servletRequest = prepareServletRequest(binder.getTarget(), request, parameter);
         WebDataBinder simpleBinder = binderFactory.createBinder(request, null, null);
+        boolean direct = canBindDirectly(simpleBinder, descriptor);
 
         if (Collection.class.isAssignableFrom(targetType)) {//bind collection or array
 
-            Type type = parameter.getGenericParameterType();
-            Class<?> componentType = Object.class;
+            Class<?> componentType = descriptor.getComponentType();
 
             Collection target = (Collection) binder.getTarget();
 
             List targetList = new ArrayList(target);
 
-            if (type instanceof ParameterizedType) {
-                componentType = (Class<?>) ((ParameterizedType) type).getActualTypeArguments()[0];
-            }
+            for (FormModelParameters.Component parameters : FormModelParameters.parse(servletRequest.getParameterMap())) {
+                int index = parameters.getIndex();
 
-            if (parameter.getParameterType().isArray()) {
-                componentType = parameter.getParameterType().getComponentType();
-            }
-
-            for (Object key : servletRequest.getParameterMap().keySet()) {
-                String prefixName = getPrefixName((String) key);
-
-                //每个prefix 只处理一次
-                if (hasProcessedPrefixMap.containsKey(prefixName)) {
-                    continue;
-                } else {
-                    hasProcessedPrefixMap.put(prefixName, Boolean.TRUE);
-                }
-
-                if (isSimpleComponent(prefixName)) { //bind simple type
-                    Map<String, Object> paramValues = WebUtils
-                        .getParametersStartingWith(servletRequest, prefixName);
-                    Matcher matcher = INDEX_PATTERN.matcher(prefixName);
-                    if (!matcher.matches()) { //处理如 array=1&array=2的情况
-                        for (Object value : paramValues.values()) {
+                if (parameters.getValues() != null) { //bind simple type
+                    if (index < 0) { //处理如 array=1&array=2的情况
+                        for (Object value : parameters.getValues()) {
                             targetList.add(simpleBinder.convertIfNecessary(value, componentType));
                         }
                     } else {  //处理如 array[0]=1&array[1]=2的情况
-                        int index = Integer.valueOf(matcher.group(1));
-
-                        if (targetList.size() <= index) {
-                            growCollectionIfNecessary(targetList, index);
+                        if (!growCollectionIfNecessary(binder, targetList, index)) {
+                            continue;
                         }
                         targetList.set(index, simpleBinder
-                                       .convertIfNecessary(paramValues.values(), componentType));
+                                       .convertIfNecessary(parameters.getValues(), componentType));
                     }
-                } else { //处理如 votes[1].title=votes[1].title&votes[0].title=votes[0].title&votes[0].id=0&votes[1].id=1
+                }
+                if (parameters.getProperties() != null) { //处理如 votes[1].title=votes[1].title&votes[0].title=votes[0].title&votes[0].id=0&votes[1].id=1
                     Object component = null;
                     //先查找老的 即已经在集合中的数据（而不是新添加一个）
-                    Matcher matcher = INDEX_PATTERN.matcher(prefixName);
-                    if (!matcher.matches()) {
-                        throw new IllegalArgumentException("bind collection error, need integer index, key:" + key);
+                    if (index < 0) {
+                        throw new IllegalArgumentException("bind collection error, need integer index, key:"
+                                                           + parameters.getKey());
                     }
-                    int index = Integer.valueOf(matcher.group(1));
-                    if (targetList.size() <= index) {
-                        growCollectionIfNecessary(targetList, index);
+                    if (!growCollectionIfNecessary(binder, targetList, index)) {
+                        continue;
                     }
-                    Iterator iterator = targetList.iterator();
-                    for (int i = 0; i < index; i++) {
-                        iterator.next();
-                    }
-                    component = iterator.next();
+                    component = targetList.get(index);
 
                     if (component == null) {
                         component = BeanUtils.instantiate(componentType);
                     }
 
+                    if (direct && bindDirectly(component, parameters.getProperties(), simpleBinder)) {
+                        targetList.set(index, component);
+                        continue;
+                    }
+
                     WebDataBinder componentBinder = binderFactory
                         .createBinder(request, component, null);
                     component = componentBinder.getTarget();
 
                     if (component != null) {
-                        ServletRequestParameterPropertyValues pvs = new ServletRequestParameterPropertyValues(servletRequest, prefixName, "");
-                        componentBinder.bind(pvs);
+                        componentBinder.bind(parameters.getProperties());
                         validateIfApplicable(componentBinder, parameter);
                         if (componentBinder.getBindingResult().hasErrors()) {
                             if (isBindExceptionRequired(componentBinder, parameter)) {
@@ -322,19 +401,13 @@ public class FormModelMethodArgumentResolver extends BaseMethodArgumentResolver
                         targetList.set(index, component);
                     }
                 }
-                target.clear();
-                target.addAll(targetList);
             }
+            target.clear();
+            target.addAll(targetList);
         } else if (MapWapper.class.isAssignableFrom(targetType)) {
 
-            Type type = parameter.getGenericParameterType();
-            Class<?> keyType = Object.class;
-            Class<?> valueType = Object.class;
-
-            if (type instanceof ParameterizedType) {
-                keyType = (Class<?>) ((ParameterizedType) type).getActualTypeArguments()[0];
-                valueType = (Class<?>) ((ParameterizedType) type).getActualTypeArguments()[1];
-            }
+            Class<?> keyType = descriptor.getKeyType();
+            Class<?> valueType = descriptor.getValueType();
 
             MapWapper mapWapper = ((MapWapper) binder.getTarget());
             Map target = mapWapper.getInnerMap();
@@ -343,39 +416,32 @@ public class FormModelMethodArgumentResolver extends BaseMethodArgumentResolver
                 mapWapper.setInnerMap(target);
             }
 
-            for (Object key : servletRequest.getParameterMap().keySet()) {
-                String prefixName = getPrefixName((String) key);
-
-                //每个prefix 只处理一次
-                if (hasProcessedPrefixMap.containsKey(prefixName)) {
-                    continue;
-                } else {
-                    hasProcessedPrefixMap.put(prefixName, Boolean.TRUE);
-                }
-
-                Object keyValue = simpleBinder.convertIfNecessary(getMapKey(prefixName), keyType);
-
-                if (isSimpleComponent(prefixName)) { //bind simple type
-                    Map<String, Object> paramValues = WebUtils
-                        .getParametersStartingWith(servletRequest, prefixName);
+            for (FormModelParameters.Component parameters : FormModelParameters.parse(servletRequest.getParameterMap())) {
+                Object keyValue = simpleBinder.convertIfNecessary(parameters.getMapKey(), keyType);
 
-                    for (Object value : paramValues.values()) {
+                if (parameters.getValues() != null) { //bind simple type
+                    for (Object value : parameters.getValues()) {
                         target.put(keyValue, simpleBinder.convertIfNecessary(value, valueType));
                     }
-                } else {
+                }
+                if (parameters.getProperties() != null) {
 
                     Object component = target.get(keyValue);
                     if (component == null) {
                         component = BeanUtils.instantiate(valueType);
                     }
 
+                    if (direct && bindDirectly(component, parameters.getProperties(), simpleBinder)) {
+                        target.put(keyValue, component);
+                        continue;
+                    }
+
                     WebDataBinder componentBinder = binderFactory
                         .createBinder(request, component, null);
                     component = componentBinder.getTarget();
 
                     if (component != null) {
-                        ServletRequestParameterPropertyValues pvs = new ServletRequestParameterPropertyValues(servletRequest, prefixName, "");
-                        componentBinder.bind(pvs);
+                        componentBinder.bind(parameters.getProperties());
 
                         validateComponent(componentBinder, parameter);
 
@@ -389,129 +455,64 @@ public class FormModelMethodArgumentResolver extends BaseMethodArgumentResolver
         }
     }
 
-    private void growCollectionIfNecessary(final Collection collection, final int index) {
-        if (index >= collection.size() && index < this.autoGrowCollectionLimit) {
-            for (int i = collection.size(); i <= index; i++) {
-                collection.add(null);
-            }
-        }
-    }
-
-    private Object getMapKey(String prefixName) {
-        String key = prefixName;
-        if (key.startsWith("['")) {
-            key = key.replaceAll("\\[\'", "").replaceAll("\'\\]", "");
-        }
-        if (key.startsWith("[\"")) {
-            key = key.replaceAll("\\[\"", "").replaceAll("\"\\]", "");
-        }
-        if (key.endsWith(".")) {
-            key = key.substring(0, key.length() - 1);
+    /**
+     * Grow list to hold index, or reject index beyond auto-growing limit.
+     *
+     * @param binder binder of collection to record error in
+     * @param list   list to grow
+     * @param index  index to bind
+     *
+     * @return true if list holds index; false if index is rejected.
+     */
+    private boolean growCollectionIfNecessary(final WebDataBinder binder, final List list, final int index) {
+        if (index < list.size()) {
+            return true;
         }
-        return key;
-    }
-
-    private boolean isSimpleComponent(String prefixName) {
-        return !prefixName.endsWith(".");
-    }
-
-    private String getPrefixName(String name) {
-
-        int begin = 0;
-
-        int end = name.indexOf("]") + 1;
-
-        if (name.indexOf("].") >= 0) {
-            end = end + 1;
+        if (index >= this.autoGrowCollectionLimit) {
+            binder.getBindingResult().reject(AUTO_GROW_LIMIT_ERROR_CODE, new Object[]{
+                index, this.autoGrowCollectionLimit
+            }, "index " + index + " exceeds auto grow collection limit " + this.autoGrowCollectionLimit);
+            return false;
         }
-
-        return name.substring(begin, end);
+        list.addAll(Collections.nCopies(index + 1 - list.size(), null));
+        return true;
     }
 
+    /**
+     * Create view of request parameters and files that belong to form model, renamed without model prefix.
+     *
+     * @param target    target to bind
+     * @param request   coming request
+     * @param parameter parameter to be used
+     *
+     * @return request view of form model.
+     */
     private ServletRequest prepareServletRequest(Object target, NativeWebRequest request,
                                                  MethodParameter parameter) {
 
-        String modelPrefixName = parameter.getParameterAnnotation(FormModel.class).value();
+        String modelPrefixName = getDescriptor(parameter).getName();
 
         HttpServletRequest nativeRequest = (HttpServletRequest) request.getNativeRequest();
         MultipartRequest multipartRequest = WebUtils
             .getNativeRequest(nativeRequest, MultipartRequest.class);
 
-        MockHttpServletRequest mockRequest = null;
-        if (multipartRequest != null) {
-            MockMultipartHttpServletRequest mockMultipartRequest = new MockMultipartHttpServletRequest();
-            for (MultipartFile file : multipartRequest.getFileMap().values()) {
-                mockMultipartRequest.addFile(new MultipartFileWrapper(getNewParameterName(file
-                    .getName(), modelPrefixName), file));
-            }
-            mockRequest = mockMultipartRequest;
-        } else {
-            mockRequest = new MockHttpServletRequest();
-        }
-
-        for (Entry<String, String> entry : getUriTemplateVariables(request).entrySet()) {
-            String parameterName = entry.getKey();
-            String value = entry.getValue();
-            if (isFormModelAttribute(parameterName, modelPrefixName)) {
-                mockRequest.setParameter(getNewParameterName(parameterName, modelPrefixName), value);
-            }
-        }
-
-        for (Object parameterEntry : nativeRequest.getParameterMap().entrySet()) {
-            Entry<String, String[]> entry = (Entry<String, String[]>) parameterEntry;
-            String parameterName = entry.getKey();
-            String[] value = entry.getValue();
-            if (isFormModelAttribute(parameterName, modelPrefixName)) {
-                mockRequest.setParameter(getNewParameterName(parameterName, modelPrefixName), value);
-            }
-        }
-
-        return mockRequest;
-    }
-
-    private String getNewParameterName(String parameterName, String modelPrefixName) {
-        int modelPrefixNameLength = modelPrefixName.length();
-
-        if (parameterName.charAt(modelPrefixNameLength) == '.') {
-            return parameterName.substring(modelPrefixNameLength + 1);
-        }
-
-        if (parameterName.charAt(modelPrefixNameLength) == '[') {
-            return parameterName.substring(modelPrefixNameLength);
-        }
-        throw new IllegalArgumentException("illegal request parameter, can not binding to @FormBean(" + modelPrefixName + ")");
-    }
-
-    private boolean isFormModelAttribute(String parameterName, String modelPrefixName) {
-        int modelPrefixNameLength = modelPrefixName.length();
-
-        if (parameterName.length() == modelPrefixNameLength) {
-            return false;
-        }
-
-        if (!parameterName.startsWith(modelPrefixName)) {
-            return false;
-        }
-
-        char ch = (char) parameterName.charAt(modelPrefixNameLength);
-
-        if (ch == '.' || ch == '[') {
-            return true;
-        }
-
-        return false;
+        return (multipartRequest != null)
+               ? new FormModelMultipartRequest(nativeRequest, multipartRequest, modelPrefixName,
+                                               getUriTemplateVariables(request))
+               : new FormModelRequest(nativeRequest, modelPrefixName, getUriTemplateVariables(request));
     }
 
     protected void validateComponent(WebDataBinder binder, MethodParameter parameter) throws BindException {
 
-        boolean validateParameter = validateParameter(parameter);
-        Annotation[] annotations = binder.getTarget().getClass().getAnnotations();
-        for (Annotation annot : annotations) {
-            if (annot.annotationType().getSimpleName().startsWith("Valid") && validateParameter) {
-                Object hints = AnnotationUtils.getValue(annot);
-                binder.validate(hints instanceof Object[] ? (Object[]) hints : new Object[]{
-                    hints
-                });
+        if (getDescriptor(parameter).isValidated()) {
+            Annotation[] annotations = binder.getTarget().getClass().getAnnotations();
+            for (Annotation annot : annotations) {
+                if (annot.annotationType().getSimpleName().startsWith("Valid")) {
+                    Object hints = AnnotationUtils.getValue(annot);
+                    binder.validate(hints instanceof Object[] ? (Object[]) hints : new Object[]{
+                        hints
+                    });
+                }
             }
         }
 
@@ -522,17 +523,6 @@ public class FormModelMethodArgumentResolver extends BaseMethodArgumentResolver
         }
     }
 
-    private boolean validateParameter(MethodParameter parameter) {
-        Annotation[] annotations = parameter.getParameterAnnotations();
-        for (Annotation annot : annotations) {
-            if (annot.annotationType().getSimpleName().startsWith("Valid")) {
-                return true;
-            }
-        }
-
-        return false;
-    }
-
     /**
      * Validate the model attribute if applicable.
      * <p>
@@ -542,14 +532,8 @@ public class FormModelMethodArgumentResolver extends BaseMethodArgumentResolver
      * @param parameter the method parameter
      */
     protected void validateIfApplicable(WebDataBinder binder, MethodParameter parameter) {
-        Annotation[] annotations = parameter.getParameterAnnotations();
-        for (Annotation annot : annotations) {
-            if (annot.annotationType().getSimpleName().startsWith("Valid")) {
-                Object hints = AnnotationUtils.getValue(annot);
-                binder.validate(hints instanceof Object[] ? (Object[]) hints : new Object[]{
-                    hints
-                });
-            }
+        for (Object[] hints : getDescriptor(parameter).getValidationHints()) {
+            binder.validate(hints);
         }
     }
 
@@ -564,63 +548,6 @@ public class FormModelMethodArgumentResolver extends BaseMethodArgumentResolver
      * @return If throw exception is needed.
      */
     protected boolean isBindExceptionRequired(WebDataBinder binder, MethodParameter parameter) {
-        int i = parameter.getParameterIndex();
-        Class<?>[] paramTypes = parameter.getMethod().getParameterTypes();
-        boolean hasBindingResult = (paramTypes.length > (i + 1) && Errors.class
-                                    .isAssignableFrom(paramTypes[i + 1]));
-
-        return !hasBindingResult;
-    }
-
-    private static class MultipartFileWrapper implements MultipartFile {
-
-        private String name;
-
-        private MultipartFile delegate;
-
-        private MultipartFileWrapper(String name, MultipartFile delegate) {
-            this.name = name;
-            this.delegate = delegate;
-        }
-
-        @Override
-        public String getName() {
-            return name;
-        }
-
-        @Override
-        public String getOriginalFilename() {
-            return delegate.getOriginalFilename();
-        }
-
-        @Override
-        public String getContentType() {
-            return delegate.getContentType();
-        }
-
-        @Override
-        public boolean isEmpty() {
-            return delegate.isEmpty();
-        }
-
-        @Override
-        public long getSize() {
-            return delegate.getSize();
-        }
-
-        @Override
-        public byte[] getBytes() throws IOException {
-            return delegate.getBytes();
-        }
-
-        @Override
-        public InputStream getInputStream() throws IOException {
-            return delegate.getInputStream();
-        }
-
-        @Override
-        public void transferTo(File dest) throws IOException, IllegalStateException {
-            delegate.transferTo(dest);
-        }
+        return getDescriptor(parameter).isBindExceptionRequired();
     }
 }
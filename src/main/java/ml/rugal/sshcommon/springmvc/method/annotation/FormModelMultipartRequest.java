@@ -0,0 +1,192 @@
+package ml.rugal.sshcommon.springmvc.method.annotation;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.multipart.MultipartHttpServletRequest;
+import org.springframework.web.multipart.MultipartRequest;
+
+/**
+ * Multipart {@link FormModelRequest}, that exposes files of form model renamed without model prefix.<BR>
+ * Files are looked up in the wrapped multipart request on demand, and only files that belong to form model are
+ * wrapped. Content of files is read straight from the underlying parts.
+ *
+ * @author Rugal Bernstein
+ */
+class FormModelMultipartRequest extends FormModelRequest implements MultipartHttpServletRequest {
+
+    FormModelMultipartRequest(HttpServletRequest request, MultipartRequest multipartRequest, String prefix,
+                              Map<String, String> uriTemplateVariables) {
+        super(request, prefix, uriTemplateVariables);
+        this.multipartRequest = multipartRequest;
+        this.prefix = prefix;
+    }
+
+    @Override
+    public Iterator<String> getFileNames() {
+        return getMultiFileMap().keySet().iterator();
+    }
+
+    @Override
+    public MultipartFile getFile(String name) {
+        String originalName = getOriginalParameterName(name);
+        MultipartFile file = (originalName == null) ? null : this.multipartRequest.getFile(originalName);
+        return (file == null) ? null : new MultipartFileWrapper(name, file);
+    }
+
+    @Override
+    public List<MultipartFile> getFiles(String name) {
+        String originalName = getOriginalParameterName(name);
+        List<MultipartFile> files = (originalName == null)
+                                    ? null
+                                    : this.multipartRequest.getFiles(originalName);
+        if (files == null || files.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<MultipartFile> result = new ArrayList<>(files.size());
+        for (MultipartFile file : files) {
+            result.add(new MultipartFileWrapper(name, file));
+        }
+        return result;
+    }
+
+    @Override
+    public Map<String, MultipartFile> getFileMap() {
+        return getMultiFileMap().toSingleValueMap();
+    }
+
+    @Override
+    public MultiValueMap<String, MultipartFile> getMultiFileMap() {
+        if (this.multipartFiles == null) {
+            MultiValueMap<String, MultipartFile> files = new LinkedMultiValueMap<>();
+            for (Map.Entry<String, List<MultipartFile>> entry : this.multipartRequest.getMultiFileMap().entrySet()) {
+                if (isFormModelAttribute(entry.getKey(), this.prefix)) {
+                    String name = getNewParameterName(entry.getKey(), this.prefix);
+                    for (MultipartFile file : entry.getValue()) {
+                        files.add(name, new MultipartFileWrapper(name, file));
+                    }
+                }
+            }
+            this.multipartFiles = files;
+        }
+        return this.multipartFiles;
+    }
+
+    @Override
+    public String getMultipartContentType(String paramOrFileName) {
+        String originalName = getOriginalParameterName(paramOrFileName);
+        return (originalName == null) ? null : this.multipartRequest.getMultipartContentType(originalName);
+    }
+
+    @Override
+    public HttpMethod getRequestMethod() {
+        return HttpMethod.resolve(getMethod());
+    }
+
+    @Override
+    public HttpHeaders getRequestHeaders() {
+        return new ServletServerHttpRequest(this).getHeaders();
+    }
+
+    @Override
+    public HttpHeaders getMultipartHeaders(String paramOrFileName) {
+        String originalName = getOriginalParameterName(paramOrFileName);
+        if (originalName == null) {
+            return null;
+        }
+        if (this.multipartRequest instanceof MultipartHttpServletRequest) {
+            return ((MultipartHttpServletRequest) this.multipartRequest).getMultipartHeaders(originalName);
+        }
+        String contentType = this.multipartRequest.getMultipartContentType(originalName);
+        if (contentType == null) {
+            return null;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.CONTENT_TYPE, contentType);
+        return headers;
+    }
+
+    private final MultipartRequest multipartRequest;
+
+    private final String prefix;
+
+    private MultiValueMap<String, MultipartFile> multipartFiles;
+
+    /**
+     * Multipart file of form model, renamed without model prefix.
+     */
+    private static class MultipartFileWrapper implements MultipartFile {
+
+        private String name;
+
+        private MultipartFile delegate;
+
+        private MultipartFileWrapper(String name, MultipartFile delegate) {
+            this.name = name;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getOriginalFilename() {
+            return delegate.getOriginalFilename();
+        }
+
+        @Override
+        public String getContentType() {
+            return delegate.getContentType();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return delegate.isEmpty();
+        }
+
+        @Override
+        public long getSize() {
+            return delegate.getSize();
+        }
+
+        @Override
+        public byte[] getBytes() throws IOException {
+            return delegate.getBytes();
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return delegate.getInputStream();
+        }
+
+        /**
+         * Transfer file to destination by the part, which moves temporary file of container where possible instead of
+         * copying content, and could be called only once.
+         *
+         * @param dest destination file
+         *
+         * @throws IOException           in case of reading or writing errors
+         * @throws IllegalStateException if the file has already been moved
+         */
+        @Override
+        public void transferTo(File dest) throws IOException, IllegalStateException {
+            delegate.transferTo(dest);
+        }
+    }
+}
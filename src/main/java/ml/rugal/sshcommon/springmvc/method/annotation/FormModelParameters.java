@@ -0,0 +1,169 @@
+package ml.rugal.sshcommon.springmvc.method.annotation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.beans.PropertyValues;
+
+/**
+ * Parameters of collection or map form model, grouped by index or map key in a single pass.<BR>
+ * Such as {@code [0].name=a&[0].age=1&[1]=b} is grouped into component {@code [0]} with properties {@code name} and
+ * {@code age}, and component {@code [1]} with value {@code b}. Parameters without index or key fall into component
+ * of empty key.
+ *
+ * @author Rugal Bernstein
+ */
+final class FormModelParameters {
+
+    private FormModelParameters() {
+    }
+
+    /**
+     * Group parameters by index or map key.
+     *
+     * @param parameterMap parameters renamed without model prefix
+     *
+     * @return components in order of their first parameter.
+     */
+    static Collection<Component> parse(Map<String, String[]> parameterMap) {
+        Map<String, Component> components = new LinkedHashMap<>();
+        for (Map.Entry<String, String[]> entry : parameterMap.entrySet()) {
+            String[] values = entry.getValue();
+            if (values == null || values.length == 0) {
+                continue;
+            }
+            String name = entry.getKey();
+            int end = getKeyEnd(name);
+            String key = name.substring(0, end);
+            Component component = components.get(key);
+            if (component == null) {
+                component = new Component(key);
+                components.put(key, component);
+            }
+            int start = (end < name.length() && name.charAt(end) == '.') ? end + 1 : end;
+            Object value = (values.length == 1) ? values[0] : values;
+            if (start == name.length() || end == 0) {
+                component.addValue(value);
+            } else {
+                component.addProperty(name.substring(start), value);
+            }
+        }
+        return components.values();
+    }
+
+    /**
+     * Find end of leading index or key, such as {@code [0]}, {@code ['a']} or {@code ["a"]}.
+     *
+     * @param name name of parameter
+     *
+     * @return index next to the closing bracket, 0 if parameter does not start with bracket.
+     */
+    private static int getKeyEnd(String name) {
+        if (name.isEmpty() || name.charAt(0) != '[') {
+            return 0;
+        }
+        int from = 1;
+        if (name.length() > 1 && (name.charAt(1) == '\'' || name.charAt(1) == '"')) {
+            int quote = name.indexOf(name.charAt(1) + "]", 2);
+            if (quote > 0) {
+                return quote + 2;
+            }
+        }
+        int end = name.indexOf(']', from);
+        return (end < 0) ? 0 : end + 1;
+    }
+
+    /**
+     * Parameters of a single element of collection or map.
+     */
+    static final class Component {
+
+        private Component(String key) {
+            this.key = key;
+        }
+
+        private void addValue(Object value) {
+            if (this.values == null) {
+                this.values = new ArrayList<>(1);
+            }
+            this.values.add(value);
+        }
+
+        private void addProperty(String name, Object value) {
+            if (this.properties == null) {
+                this.properties = new MutablePropertyValues();
+            }
+            this.properties.addPropertyValue(name, value);
+        }
+
+        /**
+         * Get index of collection element.
+         *
+         * @return index, or -1 if key is not an integer index such as {@code [0]}.
+         */
+        int getIndex() {
+            int length = this.key.length();
+            if (length < 3 || length > 12) {
+                return -1;
+            }
+            long index = 0;
+            for (int i = 1; i < length - 1; i++) {
+                char c = this.key.charAt(i);
+                if (c < '0' || c > '9') {
+                    return -1;
+                }
+                index = index * 10 + (c - '0');
+            }
+            return (index > Integer.MAX_VALUE) ? -1 : (int) index;
+        }
+
+        /**
+         * Get key of map element, without brackets and quotes.
+         *
+         * @return key of map element.
+         */
+        String getMapKey() {
+            if (this.key.length() >= 4 && (this.key.startsWith("['") || this.key.startsWith("[\""))) {
+                return this.key.substring(2, this.key.length() - 2);
+            }
+            return this.key;
+        }
+
+        /**
+         * Get key of component, such as {@code [0]}.
+         *
+         * @return key of component, or empty if parameters have no index.
+         */
+        String getKey() {
+            return key;
+        }
+
+        /**
+         * Get values that bind to element directly, such as value of {@code [1]=b}.
+         *
+         * @return values of element, each is either String or String array; null if there is none.
+         */
+        List<Object> getValues() {
+            return values;
+        }
+
+        /**
+         * Get values that bind to properties of element, such as {@code name} of {@code [0].name=a}.
+         *
+         * @return property values of element; null if there is none.
+         */
+        PropertyValues getProperties() {
+            return properties;
+        }
+
+        private final String key;
+
+        private List<Object> values;
+
+        private MutablePropertyValues properties;
+    }
+}
@@ -0,0 +1,135 @@
+package ml.rugal.sshcommon.springmvc.method.annotation;
+
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * View of request parameters that belong to a {@code @FormModel}, renamed without model prefix.<BR>
+ * Such as {@code student.name} as {@code name}, {@code students[0].name} as {@code [0].name}. URI template variables
+ * are exposed as parameters as well, request parameters take precedence over them.
+ * <p>
+ * Values are read from the wrapped request on demand, parameter map is only built if it is asked for.
+ *
+ * @author Rugal Bernstein
+ */
+class FormModelRequest extends HttpServletRequestWrapper {
+
+    FormModelRequest(HttpServletRequest request, String prefix, Map<String, String> uriTemplateVariables) {
+        super(request);
+        this.prefix = prefix;
+        this.uriTemplateVariables = uriTemplateVariables;
+    }
+
+    /**
+     * Check if parameter belongs to form model.
+     *
+     * @param name   name of parameter
+     * @param prefix name of form model
+     *
+     * @return true if parameter starts with model name, followed by '.' or '['.
+     */
+    static boolean isFormModelAttribute(String name, String prefix) {
+        if (name.length() <= prefix.length() || !name.startsWith(prefix)) {
+            return false;
+        }
+        char ch = name.charAt(prefix.length());
+        return ch == '.' || ch == '[';
+    }
+
+    /**
+     * Get name of parameter without model prefix.
+     *
+     * @param name   name of parameter that belongs to form model
+     * @param prefix name of form model
+     *
+     * @return name without prefix.
+     */
+    static String getNewParameterName(String name, String prefix) {
+        return (name.charAt(prefix.length()) == '.')
+               ? name.substring(prefix.length() + 1)
+               : name.substring(prefix.length());
+    }
+
+    /**
+     * Get name of parameter with model prefix, reverse of {@link #getNewParameterName(String, String)}.
+     *
+     * @param name name of parameter without prefix
+     *
+     * @return name of parameter in wrapped request; null if name is empty.
+     */
+    protected String getOriginalParameterName(String name) {
+        if (name == null || name.isEmpty()) {
+            return null;
+        }
+        return (name.charAt(0) == '[') ? (this.prefix + name) : (this.prefix + '.' + name);
+    }
+
+    @Override
+    public String getParameter(String name) {
+        String[] values = getParameterValues(name);
+        return (values == null || values.length == 0) ? null : values[0];
+    }
+
+    @Override
+    public String[] getParameterValues(String name) {
+        String originalName = getOriginalParameterName(name);
+        if (originalName == null) {
+            return null;
+        }
+        String[] values = super.getParameterValues(originalName);
+        if (values == null) {
+            String variable = this.uriTemplateVariables.get(originalName);
+            values = (variable == null) ? null : new String[]{variable};
+        }
+        return values;
+    }
+
+    @Override
+    public Enumeration<String> getParameterNames() {
+        return Collections.enumeration(getParameterMap().keySet());
+    }
+
+    @Override
+    public Map<String, String[]> getParameterMap() {
+        if (this.parameterMap == null) {
+            Map<String, String[]> map = new LinkedHashMap<>();
+            for (Map.Entry<String, String> entry : this.uriTemplateVariables.entrySet()) {
+                if (isFormModelAttribute(entry.getKey(), this.prefix)) {
+                    map.put(getNewParameterName(entry.getKey(), this.prefix), new String[]{entry.getValue()});
+                }
+            }
+            for (Map.Entry<String, String[]> entry : super.getParameterMap().entrySet()) {
+                if (isFormModelAttribute(entry.getKey(), this.prefix)) {
+                    map.put(getNewParameterName(entry.getKey(), this.prefix), entry.getValue());
+                }
+            }
+            this.parameterMap = Collections.unmodifiableMap(map);
+        }
+        return this.parameterMap;
+    }
+
+    /**
+     * URI template variables are already exposed as renamed parameters, hide the original ones from data binder.
+     *
+     * @param name name of attribute
+     *
+     * @return attribute of wrapped request.
+     */
+    @Override
+    public Object getAttribute(String name) {
+        return HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE.equals(name) ? null : super.getAttribute(name);
+    }
+
+    private final String prefix;
+
+    private final Map<String, String> uriTemplateVariables;
+
+    private Map<String, String[]> parameterMap;
+}
@@ -2,19 +2,39 @@ package ml.rugal.sshcommon.util;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.springframework.util.Assert;
 
 /**
- * Bean utility to update bean without getter and setter.
+ * Bean utility to update bean without getter and setter.<BR>
+ * Resolved fields and getters are cached per class and name, as well as a bounded number of failed lookups. Cache is
+ * held by {@link ClassValue} so that it does not prevent classes from being unloaded.
  *
  * @author Rugal Bernstein
  * @since 0.1
  */
 public class BeanUtils {
 
+    /**
+     * Marker of a failed lookup.
+     */
+    private static final Object MISSING = new Object();
+
+    /**
+     * Failed lookups are cached only while cache of a class holds less names than this, since names that are not
+     * found could be anything.
+     */
+    private static final int MAX_CACHED_NAMES = 256;
+
+    private static final ClassValue<ConcurrentMap<String, Object>> FIELDS = new AccessorCache();
+
+    private static final ClassValue<ConcurrentMap<String, Object>> READ_METHODS = new AccessorCache();
+
     /**
      * Get field value from bean without hinder of access.
      *
@@ -30,8 +50,6 @@ public class BeanUtils {
             throw new IllegalArgumentException("Could not find field [" + fieldName + "] on target [" + object + "]");
         }
 
-        makeAccessible(field);
-
         Object result = null;
 
         try {
@@ -57,8 +75,6 @@ public class BeanUtils {
             throw new IllegalArgumentException("Could not find field [" + fieldName + "] on target [" + object + "]");
         }
 
-        makeAccessible(field);
-
         try {
             field.set(object, value);
         } catch (IllegalAccessException e) {
@@ -81,7 +97,7 @@ public class BeanUtils {
     }
 
     /**
-     * Get specific field from a class.
+     * Get specific field from a class. The returned field is already made accessible.
      *
      * @param clazz     class to reflect from
      * @param fieldName field to get
@@ -92,13 +108,28 @@ public class BeanUtils {
         Assert.notNull(clazz);
         Assert.hasText(fieldName);
 
+        ConcurrentMap<String, Object> fields = FIELDS.get(clazz);
+        Object field = fields.get(fieldName);
+        if (field == null) {
+            field = findDeclaredField(clazz, fieldName);
+            if (field == null) {
+                field = MISSING;
+            } else {
+                makeAccessible((Field) field);
+            }
+            cache(fields, fieldName, field);
+        }
+        return (field == MISSING) ? null : (Field) field;
+    }
+
+    private static Field findDeclaredField(final Class clazz, final String fieldName) {
         //traverse all declared field from inheritence
-        for (Class superClass = clazz; superClass != Object.class; superClass = superClass
+        for (Class superClass = clazz; superClass != null && superClass != Object.class; superClass = superClass
              .getSuperclass()) {
-            try {
-                return superClass.getDeclaredField(fieldName);
-            } catch (NoSuchFieldException exception) {
-                //But it is fair well to have this exception.
+            for (Field field : superClass.getDeclaredFields()) {
+                if (field.getName().equals(fieldName)) {
+                    return field;
+                }
             }
         }
         return null;
@@ -133,7 +164,40 @@ public class BeanUtils {
     public static Object getSimpleProperty(Object bean, String propName)
         throws IllegalArgumentException, SecurityException, IllegalAccessException, InvocationTargetException,
                NoSuchMethodException {
-        return bean.getClass().getMethod(getReadMethod(propName)).invoke(bean);
+        return getReadMethod(bean.getClass(), propName).invoke(bean);
+    }
+
+    /**
+     * Get getter method of a property from cache, or resolve it if absent.
+     *
+     * @param clazz    class to reflect from
+     * @param propName the property to get
+     *
+     * @return getter method
+     *
+     * @throws NoSuchMethodException if no such method in class definition
+     */
+    private static Method getReadMethod(Class<?> clazz, String propName) throws NoSuchMethodException {
+        ConcurrentMap<String, Object> methods = READ_METHODS.get(clazz);
+        Object method = methods.get(propName);
+        if (method == null) {
+            try {
+                method = clazz.getMethod(getReadMethod(propName));
+            } catch (NoSuchMethodException e) {
+                method = MISSING;
+            }
+            cache(methods, propName, method);
+        }
+        if (method == MISSING) {
+            throw new NoSuchMethodException(clazz.getName() + "." + getReadMethod(propName) + "()");
+        }
+        return (Method) method;
+    }
+
+    private static void cache(ConcurrentMap<String, Object> accessors, String name, Object accessor) {
+        if (accessor != MISSING || accessors.size() < MAX_CACHED_NAMES) {
+            accessors.putIfAbsent(name, accessor);
+        }
     }
 
     /**
@@ -146,4 +210,15 @@ public class BeanUtils {
     private static String getReadMethod(String name) {
         return "get" + name.substring(0, 1).toUpperCase(Locale.ENGLISH) + name.substring(1);
     }
+
+    /**
+     * Cache of accessors by name, created for each class on demand.
+     */
+    private static class AccessorCache extends ClassValue<ConcurrentMap<String, Object>> {
+
+        @Override
+        protected ConcurrentMap<String, Object> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    }
 }
@@ -1,6 +1,13 @@
 package ml.rugal.sshcommon.util;
 
+import java.util.Arrays;
+import java.util.UUID;
+
 /**
+ * Codec of non-negative numbers in N62 and N36.<BR>
+ * Digits are written right to left into a right sized buffer, or a buffer supplied by caller. Decoding uses a reverse
+ * lookup table and reads input in place. Both alphabets are in ASCII order, so codes of same length sort the same as
+ * the numbers they represent.
  *
  * @author Rugal Bernstein
  * @since 0.1
@@ -39,16 +46,90 @@ public class Num62 {
      */
     public static final int LONG_N62_LEN = 11;
 
-    private static StringBuilder longToNBuf(long l, char[] chars) {
-//        final int upgrade = chars.length;
-        StringBuilder result = new StringBuilder();
-        int last;
-        while (l > 0) {
-            last = (int) (l % chars.length);
-            result.append(chars[last]);
+    /**
+     * Use N62 to represent UUID in fixed length
+     */
+    public static final int UUID_N62_LEN = 22;
+
+    private static final long UINT_MASK = 0xFFFFFFFFL;
+
+    /**
+     * Reverse lookup from ASCII character to N62 digit, -1 if not a digit.
+     */
+    private static final byte[] N62_INDEX = index(N62_CHARS);
+
+    /**
+     * Reverse lookup from ASCII character to N36 digit, -1 if not a digit.
+     */
+    private static final byte[] N36_INDEX = index(N36_CHARS);
+
+    private static byte[] index(char[] chars) {
+        byte[] index = new byte[128];
+        Arrays.fill(index, (byte) -1);
+        for (int i = 0; i < chars.length; i++) {
+            index[chars[i]] = (byte) i;
+        }
+        return index;
+    }
+
+    private static int size(long l, int length, int radix) {
+        if (l < 0) {
+            throw new IllegalArgumentException("Negative number can not be converted to N62(N36): " + l);
+        }
+        int digits = 1;
+        for (long rest = l / radix; rest > 0; rest /= radix) {
+            digits++;
+        }
+        return Math.max(digits, length);
+    }
+
+    private static void checkBuffer(int bufferLength, int offset, int size) {
+        if (offset < 0 || offset + size > bufferLength) {
+            throw new IllegalArgumentException("Buffer of length " + bufferLength + " can not hold " + size
+                                               + " characters from offset " + offset);
+        }
+    }
+
+    private static int write(long l, int length, char[] chars, char[] buf, int offset) {
+        int size = size(l, length, chars.length);
+        checkBuffer(buf.length, offset, size);
+        for (int i = offset + size - 1; i >= offset; i--) {
+            buf[i] = chars[(int) (l % chars.length)];
             l /= chars.length;
         }
-        return result;
+        return offset + size;
+    }
+
+    private static int write(long l, int length, char[] chars, byte[] buf, int offset) {
+        int size = size(l, length, chars.length);
+        checkBuffer(buf.length, offset, size);
+        for (int i = offset + size - 1; i >= offset; i--) {
+            buf[i] = (byte) chars[(int) (l % chars.length)];
+            l /= chars.length;
+        }
+        return offset + size;
+    }
+
+    private static String encode(long l, int length, char[] chars) {
+        if (l < 0) {
+            throw new IllegalArgumentException("Negative number can not be converted to N62(N36): " + l);
+        }
+        char[] buf = new char[Math.max(LONG_N36_LEN, length)];
+        int position = buf.length;
+        do {
+            buf[--position] = chars[(int) (l % chars.length)];
+            l /= chars.length;
+        } while (l > 0);
+        while (buf.length - position < length) {
+            buf[--position] = chars[0];
+        }
+        return new String(buf, position, buf.length - position);
+    }
+
+    private static byte[] encodeBytes(long l, int length, char[] chars) {
+        byte[] buf = new byte[size(l, length, chars.length)];
+        write(l, length, chars, buf, 0);
+        return buf;
     }
 
     /**
@@ -59,7 +140,7 @@ public class Num62 {
      * @return A N62 number.
      */
     public static String longToN62(long l) {
-        return longToNBuf(l, N62_CHARS).reverse().toString();
+        return encode(l, 1, N62_CHARS);
     }
 
     /**
@@ -70,7 +151,7 @@ public class Num62 {
      * @return A N36 number.
      */
     public static String longToN36(long l) {
-        return longToNBuf(l, N36_CHARS).reverse().toString();
+        return encode(l, 1, N36_CHARS);
     }
 
     /**
@@ -82,11 +163,7 @@ public class Num62 {
      * @return A N62 number.
      */
     public static String longToN62(long l, int length) {
-        StringBuilder sb = longToNBuf(l, N62_CHARS);
-        for (int i = sb.length(); i < length; i++) {
-            sb.append('0');
-        }
-        return sb.reverse().toString();
+        return encode(l, length, N62_CHARS);
     }
 
     /**
@@ -98,11 +175,87 @@ public class Num62 {
      * @return A N36 number.
      */
     public static String longToN36(long l, int length) {
-        StringBuilder sb = longToNBuf(l, N36_CHARS);
-        for (int i = sb.length(); i < length; i++) {
-            sb.append('0');
-        }
-        return sb.reverse().toString();
+        return encode(l, length, N36_CHARS);
+    }
+
+    /**
+     * Convert long type to N62 in ASCII bytes.
+     *
+     * @param l      The number to be converted.
+     * @param length minimum length need to append.
+     *
+     * @return A N62 number in ASCII bytes.
+     */
+    public static byte[] longToN62Bytes(long l, int length) {
+        return encodeBytes(l, length, N62_CHARS);
+    }
+
+    /**
+     * Convert long type to N36 in ASCII bytes.
+     *
+     * @param l      The number to be converted.
+     * @param length minimum length need to append.
+     *
+     * @return A N36 number in ASCII bytes.
+     */
+    public static byte[] longToN36Bytes(long l, int length) {
+        return encodeBytes(l, length, N36_CHARS);
+    }
+
+    /**
+     * Write long type as N62 into buffer.
+     *
+     * @param l      The number to be converted.
+     * @param length minimum length need to append.
+     * @param buf    buffer to write into.
+     * @param offset position of buffer to start writing.
+     *
+     * @return position next to the last written character.
+     */
+    public static int longToN62(long l, int length, char[] buf, int offset) {
+        return write(l, length, N62_CHARS, buf, offset);
+    }
+
+    /**
+     * Write long type as N36 into buffer.
+     *
+     * @param l      The number to be converted.
+     * @param length minimum length need to append.
+     * @param buf    buffer to write into.
+     * @param offset position of buffer to start writing.
+     *
+     * @return position next to the last written character.
+     */
+    public static int longToN36(long l, int length, char[] buf, int offset) {
+        return write(l, length, N36_CHARS, buf, offset);
+    }
+
+    /**
+     * Write long type as N62 into buffer of ASCII bytes.
+     *
+     * @param l      The number to be converted.
+     * @param length minimum length need to append.
+     * @param buf    buffer to write into.
+     * @param offset position of buffer to start writing.
+     *
+     * @return position next to the last written byte.
+     */
+    public static int longToN62(long l, int length, byte[] buf, int offset) {
+        return write(l, length, N62_CHARS, buf, offset);
+    }
+
+    /**
+     * Write long type as N36 into buffer of ASCII bytes.
+     *
+     * @param l      The number to be converted.
+     * @param length minimum length need to append.
+     * @param buf    buffer to write into.
+     * @param offset position of buffer to start writing.
+     *
+     * @return position next to the last written byte.
+     */
+    public static int longToN36(long l, int length, byte[] buf, int offset) {
+        return write(l, length, N36_CHARS, buf, offset);
     }
 
     /**
@@ -113,7 +266,7 @@ public class Num62 {
      * @return A long type number.
      */
     public static long n62ToLong(String n62) {
-        return nToLong(n62, N62_CHARS);
+        return nToLong(n62, 0, n62.length(), N62_INDEX, N62_CHARS.length);
     }
 
     /**
@@ -124,26 +277,247 @@ public class Num62 {
      * @return A long type number.
      */
     public static long n36ToLong(String n36) {
-        return nToLong(n36, N36_CHARS);
+        return nToLong(n36, 0, n36.length(), N36_INDEX, N36_CHARS.length);
     }
 
-    private static long nToLong(String s, char[] chars) {
-        char[] nc = s.toCharArray();
+    /**
+     * Convert N62 to long type.
+     *
+     * @param n62 The number to be converted.
+     *
+     * @return A long type number.
+     */
+    public static long n62ToLong(CharSequence n62) {
+        return nToLong(n62, 0, n62.length(), N62_INDEX, N62_CHARS.length);
+    }
+
+    /**
+     * Convert N36 to long type.
+     *
+     * @param n36 The number to be converted.
+     *
+     * @return A long type number.
+     */
+    public static long n36ToLong(CharSequence n36) {
+        return nToLong(n36, 0, n36.length(), N36_INDEX, N36_CHARS.length);
+    }
+
+    /**
+     * Convert part of character sequence from N62 to long type, without copying it.
+     *
+     * @param s     The sequence that contains number.
+     * @param start index of first digit.
+     * @param end   index next to the last digit.
+     *
+     * @return A long type number.
+     */
+    public static long n62ToLong(CharSequence s, int start, int end) {
+        return nToLong(s, start, end, N62_INDEX, N62_CHARS.length);
+    }
+
+    /**
+     * Convert part of character sequence from N36 to long type, without copying it.
+     *
+     * @param s     The sequence that contains number.
+     * @param start index of first digit.
+     * @param end   index next to the last digit.
+     *
+     * @return A long type number.
+     */
+    public static long n36ToLong(CharSequence s, int start, int end) {
+        return nToLong(s, start, end, N36_INDEX, N36_CHARS.length);
+    }
+
+    /**
+     * Convert N62 in ASCII bytes to long type.
+     *
+     * @param buf    buffer that contains number.
+     * @param offset index of first digit.
+     * @param length number of digits.
+     *
+     * @return A long type number.
+     */
+    public static long n62ToLong(byte[] buf, int offset, int length) {
+        return nToLong(buf, offset, length, N62_INDEX, N62_CHARS.length);
+    }
+
+    /**
+     * Convert N36 in ASCII bytes to long type.
+     *
+     * @param buf    buffer that contains number.
+     * @param offset index of first digit.
+     * @param length number of digits.
+     *
+     * @return A long type number.
+     */
+    public static long n36ToLong(byte[] buf, int offset, int length) {
+        return nToLong(buf, offset, length, N36_INDEX, N36_CHARS.length);
+    }
+
+    private static long nToLong(CharSequence s, int start, int end, byte[] index, int radix) {
+        if (start >= end) {
+            throw new IllegalArgumentException("N62(N36) number is empty");
+        }
         long result = 0;
-        long pow = 1;
-        for (int i = nc.length - 1; i >= 0; i--, pow *= chars.length) {
-            int n = findNIndex(nc[i], chars);
-            result += n * pow;
+        for (int i = start; i < end; i++) {
+            result = accumulate(result, findNIndex(s.charAt(i), index), radix);
         }
         return result;
     }
 
-    private static int findNIndex(char c, char[] chars) {
-        for (int i = 0; i < chars.length; i++) {
-            if (c == chars[i]) {
-                return i;
+    private static long nToLong(byte[] buf, int offset, int length, byte[] index, int radix) {
+        if (length <= 0) {
+            throw new IllegalArgumentException("N62(N36) number is empty");
+        }
+        long result = 0;
+        for (int i = offset; i < offset + length; i++) {
+            result = accumulate(result, findNIndex((char) (buf[i] & 0xFF), index), radix);
+        }
+        return result;
+    }
+
+    private static long accumulate(long result, int digit, int radix) {
+        if (result > (Long.MAX_VALUE - digit) / radix) {
+            throw new IllegalArgumentException("N62(N36) number overflows long");
+        }
+        return result * radix + digit;
+    }
+
+    private static int findNIndex(char c, byte[] index) {
+        int n = c < index.length ? index[c] : -1;
+        if (n < 0) {
+            throw new IllegalArgumentException("N62(N36) Illegal character " + c);
+        }
+        return n;
+    }
+
+    /**
+     * Convert UUID to N62 of fixed length {@link #UUID_N62_LEN}.
+     *
+     * @param uuid The UUID to be converted.
+     *
+     * @return A N62 number.
+     */
+    public static String uuidToN62(UUID uuid) {
+        long msb = uuid.getMostSignificantBits();
+        long lsb = uuid.getLeastSignificantBits();
+        int[] limbs = {(int) (msb >>> 32), (int) msb, (int) (lsb >>> 32), (int) lsb};
+        char[] buf = new char[UUID_N62_LEN];
+        for (int i = buf.length - 1; i >= 0; i--) {
+            long remainder = 0;
+            for (int j = 0; j < limbs.length; j++) {
+                long dividend = (remainder << 32) | (limbs[j] & UINT_MASK);
+                limbs[j] = (int) (dividend / N62_CHARS.length);
+                remainder = dividend % N62_CHARS.length;
+            }
+            buf[i] = N62_CHARS[(int) remainder];
+        }
+        return new String(buf);
+    }
+
+    /**
+     * Convert N62 of fixed length {@link #UUID_N62_LEN} to UUID.
+     *
+     * @param n62 The number to be converted.
+     *
+     * @return A UUID.
+     */
+    public static UUID n62ToUuid(CharSequence n62) {
+        if (n62.length() != UUID_N62_LEN) {
+            throw new IllegalArgumentException("N62 UUID must have " + UUID_N62_LEN + " characters: " + n62);
+        }
+        int[] limbs = new int[4];
+        for (int i = 0; i < n62.length(); i++) {
+            long carry = findNIndex(n62.charAt(i), N62_INDEX);
+            for (int j = limbs.length - 1; j >= 0; j--) {
+                carry += (limbs[j] & UINT_MASK) * N62_CHARS.length;
+                limbs[j] = (int) carry;
+                carry >>>= 32;
+            }
+            if (carry != 0) {
+                throw new IllegalArgumentException("N62 number overflows UUID: " + n62);
+            }
+        }
+        return new UUID(((long) limbs[0] << 32) | (limbs[1] & UINT_MASK),
+                        ((long) limbs[2] << 32) | (limbs[3] & UINT_MASK));
+    }
+
+    /**
+     * Convert bytes to N62 as a big-endian unsigned number.<BR>
+     * Each leading zero byte is represented by a leading '0', so that the conversion can be reversed.
+     *
+     * @param bytes The bytes to be converted.
+     *
+     * @return A N62 number.
+     */
+    public static String bytesToN62(byte[] bytes) {
+        int zeros = 0;
+        while (zeros < bytes.length && bytes[zeros] == 0) {
+            zeros++;
+        }
+        //log(256) / log(62) is less than 11 / 8
+        char[] buf = new char[zeros + (bytes.length - zeros) * 11 / 8 + 1];
+        int start = writeDigits(bytes.clone(), zeros, buf, buf.length);
+        Arrays.fill(buf, start - zeros, start, N62_CHARS[0]);
+        return new String(buf, start - zeros, buf.length - start + zeros);
+    }
+
+    /**
+     * Convert N62 to bytes, reverse of {@link #bytesToN62(byte[])}.
+     *
+     * @param n62 The number to be converted.
+     *
+     * @return bytes of the number.
+     */
+    public static byte[] n62ToBytes(CharSequence n62) {
+        int zeros = 0;
+        while (zeros < n62.length() && n62.charAt(zeros) == N62_CHARS[0]) {
+            zeros++;
+        }
+        //log(62) / log(256) is less than 3 / 4
+        byte[] number = new byte[(n62.length() - zeros) * 3 / 4 + 1];
+        int start = number.length;
+        for (int i = zeros; i < n62.length(); i++) {
+            int carry = findNIndex(n62.charAt(i), N62_INDEX);
+            for (int j = number.length - 1; j >= start; j--) {
+                carry += (number[j] & 0xFF) * N62_CHARS.length;
+                number[j] = (byte) carry;
+                carry >>>= 8;
+            }
+            while (carry != 0) {
+                number[--start] = (byte) carry;
+                carry >>>= 8;
+            }
+        }
+        byte[] result = new byte[zeros + number.length - start];
+        System.arraycopy(number, start, result, zeros, number.length - start);
+        return result;
+    }
+
+    /**
+     * Write N62 digits of big-endian unsigned number right to left, dividing the number in place.
+     *
+     * @param number number to be converted, destroyed after conversion.
+     * @param from   index of first byte of number.
+     * @param buf    buffer to write into.
+     * @param end    position next to the last digit.
+     *
+     * @return position of the first written digit.
+     */
+    private static int writeDigits(byte[] number, int from, char[] buf, int end) {
+        int position = end;
+        while (from < number.length) {
+            int remainder = 0;
+            for (int i = from; i < number.length; i++) {
+                int dividend = (remainder << 8) | (number[i] & 0xFF);
+                number[i] = (byte) (dividend / N62_CHARS.length);
+                remainder = dividend % N62_CHARS.length;
+            }
+            buf[--position] = N62_CHARS[remainder];
+            while (from < number.length && number[from] == 0) {
+                from++;
             }
         }
-        throw new RuntimeException("N62(N36) Illegal character" + c);
+        return position;
     }
 }
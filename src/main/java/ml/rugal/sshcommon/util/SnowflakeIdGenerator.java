@@ -0,0 +1,137 @@
+package ml.rugal.sshcommon.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.util.Assert;
+
+/**
+ * Lock-free generator of Snowflake-style 64-bit ids, without database round trip.<BR>
+ * An id is composed of 41 bits of milliseconds since epoch, 10 bits of node and 12 bits of sequence within the
+ * millisecond. Ids of a generator strictly increase. If sequence of a millisecond is exhausted, or wall clock moves
+ * backwards, the generator keeps a logical clock that runs ahead of wall clock until it catches up, instead of
+ * blocking.
+ * <p>
+ * Ids are non-negative, so their fixed length N62 representation from {@link #nextN62()} sorts in the same order,
+ * as long as it is compared case sensitively by binary value, such as binary collation of a database column.
+ *
+ * @author Rugal Bernstein
+ */
+public class SnowflakeIdGenerator {
+
+    /**
+     * 2017-01-01T00:00:00Z
+     */
+    public static final long DEFAULT_EPOCH = 1483228800000L;
+
+    public static final int TIMESTAMP_BITS = 41;
+
+    public static final int NODE_BITS = 10;
+
+    public static final int SEQUENCE_BITS = 12;
+
+    public static final int MAX_NODE = (1 << NODE_BITS) - 1;
+
+    private static final long MAX_TIMESTAMP = (1L << TIMESTAMP_BITS) - 1;
+
+    /**
+     * Create generator of node with default epoch.
+     *
+     * @param node node number, unique among all processes that generate ids for the same entities.
+     */
+    public SnowflakeIdGenerator(int node) {
+        this(node, DEFAULT_EPOCH);
+    }
+
+    /**
+     * Create generator of node.
+     *
+     * @param node  node number, unique among all processes that generate ids for the same entities.
+     * @param epoch milliseconds from which timestamp of ids starts.
+     */
+    public SnowflakeIdGenerator(int node, long epoch) {
+        Assert.isTrue(node >= 0 && node <= MAX_NODE, "Node must be between 0 and " + MAX_NODE);
+        Assert.isTrue(epoch <= System.currentTimeMillis(), "Epoch must not be in the future");
+        this.nodeBits = (long) node << SEQUENCE_BITS;
+        this.epoch = epoch;
+    }
+
+    /**
+     * Generate next id.
+     *
+     * @return unique id.
+     */
+    public long nextId() {
+        long previous;
+        long next;
+        do {
+            previous = this.state.get();
+            long now = currentTimeMillis() - this.epoch;
+            //Unless wall clock has passed the last timestamp, advance logical clock and carry exhausted sequence into it
+            next = (now > (previous >>> SEQUENCE_BITS)) ? (now << SEQUENCE_BITS) : (previous + 1);
+        } while (!this.state.compareAndSet(previous, next));
+        long timestamp = next >>> SEQUENCE_BITS;
+        if (timestamp > MAX_TIMESTAMP) {
+            throw new IllegalStateException("Timestamp of id overflows " + TIMESTAMP_BITS + " bits");
+        }
+        return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | this.nodeBits | (next & SEQUENCE_MASK);
+    }
+
+    /**
+     * Generate next id in N62 of fixed length {@link Num62#LONG_N62_LEN}.
+     *
+     * @return unique id that sorts lexicographically in generated order.
+     */
+    public String nextN62() {
+        return Num62.longToN62(nextId(), Num62.LONG_N62_LEN);
+    }
+
+    /**
+     * Get the millisecond when id was generated.
+     *
+     * @param id id generated by this generator.
+     *
+     * @return milliseconds since 1970-01-01T00:00:00Z.
+     */
+    public long getTimestamp(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + this.epoch;
+    }
+
+    /**
+     * Get the node that generated id.
+     *
+     * @param id id generated by generator of same layout.
+     *
+     * @return node number.
+     */
+    public static int nodeOf(long id) {
+        return (int) ((id >>> SEQUENCE_BITS) & MAX_NODE);
+    }
+
+    /**
+     * Source of wall clock, could be overridden for testing.
+     *
+     * @return current milliseconds.
+     */
+    protected long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    public int getNode() {
+        return (int) (this.nodeBits >>> SEQUENCE_BITS);
+    }
+
+    public long getEpoch() {
+        return epoch;
+    }
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long nodeBits;
+
+    private final long epoch;
+
+    /**
+     * Timestamp of last id shifted left by sequence bits, plus sequence of last id.
+     */
+    private final AtomicLong state = new AtomicLong();
+}